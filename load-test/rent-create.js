@@ -0,0 +1,108 @@
+// Rent creation under many concurrent clients, used to compare platform and virtual thread request execution.
+//
+//   k6 run -e ADMIN_TOKEN=<admin JWT> load-test/rent-create.js
+//
+// Environment: BASE_URL (http://localhost:8080), ADMIN_TOKEN (required, seeds the books), VUS (5000),
+// DURATION (2m), USERS (500 registered users whose tokens the VUs share), BOOKS (20000 books to rent from).
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter, Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '5000');
+const USERS = parseInt(__ENV.USERS || '500');
+const BOOKS = parseInt(__ENV.BOOKS || '20000');
+const RUN_ID = `${Date.now()}`;
+
+const rentCreateDuration = new Trend('rent_create_duration', true);
+const rentConflicts = new Counter('rent_conflicts');
+const rentUnavailable = new Counter('rent_service_unavailable');
+
+export const options = {
+    setupTimeout: '10m',
+    summaryTrendStats: ['avg', 'p(50)', 'p(90)', 'p(99)', 'max'],
+    scenarios: {
+        rent_create: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: __ENV.DURATION || '2m', target: VUS },
+                { duration: '10s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+};
+
+function json(token) {
+    const headers = { 'Content-Type': 'application/json' };
+    if (token) {
+        headers.Authorization = `Bearer ${token}`;
+    }
+    return { headers };
+}
+
+export function setup() {
+    if (!__ENV.ADMIN_TOKEN) {
+        throw new Error('ADMIN_TOKEN must be set to seed books');
+    }
+    const admin = { headers: { Authorization: `Bearer ${__ENV.ADMIN_TOKEN}` } };
+
+    const books = [];
+    for (let i = 0; i < BOOKS; i++) {
+        books.push(JSON.stringify({
+            title: `Load ${RUN_ID} ${i}`,
+            description: 'Seeded by the rent creation load test',
+            publicationYear: 2000,
+            category: 'FICTION',
+            authorName: 'k6',
+            available: true,
+        }));
+    }
+    const imported = http.post(`${BASE_URL}/api/books/import`, books.join('\n'),
+        { headers: { ...admin.headers, 'Content-Type': 'application/x-ndjson' }, timeout: '5m' });
+    check(imported, { 'books imported': (r) => r.status === 200 });
+
+    const bookIds = http.get(`${BASE_URL}/api/export/books`, { ...admin, timeout: '5m' }).body
+        .split('\n')
+        .filter((line) => line.includes(`"Load ${RUN_ID} `))
+        .map((line) => JSON.parse(line).id);
+
+    const requests = [];
+    for (let i = 0; i < USERS; i++) {
+        requests.push(['POST', `${BASE_URL}/api/auth/register`, JSON.stringify({
+            firstName: 'Load',
+            lastName: 'Tester',
+            email: `load-${RUN_ID}-${i}@example.com`,
+            password: 'password123',
+        }), json()]);
+    }
+    const tokens = [];
+    for (let i = 0; i < requests.length; i += 50) {
+        http.batch(requests.slice(i, i + 50))
+            .filter((r) => r.status === 200)
+            .forEach((r) => tokens.push(r.json('token')));
+    }
+    return { bookIds, tokens };
+}
+
+export default function (data) {
+    const token = data.tokens[__VU % data.tokens.length];
+    const bookId = data.bookIds[Math.floor(Math.random() * data.bookIds.length)];
+
+    const created = http.post(`${BASE_URL}/api/rents`, JSON.stringify({ bookId }), json(token));
+    rentCreateDuration.add(created.timings.duration);
+    if (created.status === 409) {
+        rentConflicts.add(1);
+        return;
+    }
+    if (created.status === 503) {
+        rentUnavailable.add(1);
+        return;
+    }
+    if (check(created, { 'rent created': (r) => r.status === 201 })) {
+        // Give the book back so the pool of available books doesn't drain during the run
+        http.post(`${BASE_URL}/api/rents/${created.json('id')}/return`, null, json(token));
+    }
+}
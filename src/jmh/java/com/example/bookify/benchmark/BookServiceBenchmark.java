@@ -0,0 +1,80 @@
+package com.example.bookify.benchmark;
+
+import com.example.bookify.BookifyApplication;
+import com.example.bookify.dto.BookResponse;
+import com.example.bookify.dto.CursorPageResponse;
+import com.example.bookify.model.Book;
+import com.example.bookify.model.Category;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.service.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full {@link BookService} read pipeline (repository, Hibernate, mapping) against an embedded H2 database,
+ * comparing the unbounded getAll with a single keyset page. The book cache is disabled with a zero TTL so every
+ * call reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookServiceBenchmark {
+
+    @Param({"100", "1000"})
+    private int bookCount;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookifyApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bookify-benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.sql.init.mode=never",
+                        "scheduling.enabled=false",
+                        "books.cache.ttl=PT0S",
+                        "logging.level.root=warn",
+                        "jwt.secret=ZmFrZXNlY3JldGZha2VzZWNyZXRmYWtlc2VjcmV0ZmFrZXNlY3JldDEyMzQ1Ng==")
+                .run();
+        bookService = context.getBean(BookService.class);
+
+        List<Book> books = new ArrayList<>(bookCount);
+        for (int i = 0; i < bookCount; i++) {
+            books.add(Book.builder()
+                    .title("Book " + i)
+                    .description("Description of book " + i)
+                    .publicationYear(1900 + i % 125)
+                    .category(Category.values()[i % Category.values().length])
+                    .available(i % 3 != 0)
+                    .authorName("Author " + i % 50)
+                    .build());
+        }
+        context.getBean(BookRepository.class).saveAll(books);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookResponse> getAll() {
+        return bookService.getAll();
+    }
+
+    @Benchmark
+    public CursorPageResponse<BookResponse> getFirstPage() {
+        return bookService.getPage(null, 50);
+    }
+}
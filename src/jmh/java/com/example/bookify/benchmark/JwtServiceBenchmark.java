@@ -0,0 +1,83 @@
+package com.example.bookify.benchmark;
+
+import com.example.bookify.service.impl.JwtServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verify throughput of {@link JwtServiceImpl}, next to the per-call key derivation
+ * and parser construction the service used before keys and parser were built once at startup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private String secret;
+    private JwtServiceImpl jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        secret = Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+        jwtService = new JwtServiceImpl(secret, "primary", new String[0], 10_000,
+                Duration.ofMinutes(15), Duration.ofDays(14), new SimpleMeterRegistry());
+        userDetails = new User("reader@example.com", "password", List.of(new SimpleGrantedAuthority("USER")));
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String issueToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String issueTokenWithPerCallKey() {
+        return Jwts.builder()
+                .setClaims(Map.of("roles", List.of("USER")))
+                .setSubject(userDetails.getUsername())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String verifyToken() {
+        return jwtService.extractClaim(token, Claims::getSubject);
+    }
+
+    @Benchmark
+    public String verifyTokenWithPerCallParser() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public boolean validateCachedToken() {
+        return jwtService.isTokenValid(token, userDetails);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.bookify.benchmark;
+
+import com.example.bookify.dto.BookResponse;
+import com.example.bookify.dto.RentResponse;
+import com.example.bookify.dto.mapper.BookMapper;
+import com.example.bookify.dto.mapper.RentMapper;
+import com.example.bookify.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping cost of {@link BookMapper} and {@link RentMapper}, paid once per row on every list endpoint
+ * that still loads entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private BookMapper bookMapper;
+    private RentMapper rentMapper;
+    private Book book;
+    private Rent rent;
+
+    @Setup
+    public void setUp() {
+        bookMapper = new BookMapper();
+        rentMapper = new RentMapper();
+        book = Book.builder()
+                .id(1L)
+                .title("Clean Code")
+                .description("A Handbook of Agile Software Craftsmanship")
+                .publicationYear(2008)
+                .category(Category.NONFICTION)
+                .available(true)
+                .authorName("Robert C. Martin")
+                .build();
+        User user = User.builder()
+                .id(1L)
+                .firstName("Jane")
+                .lastName("Reed")
+                .email("jane@example.com")
+                .role(Role.USER)
+                .build();
+        rent = Rent.builder()
+                .id(1L)
+                .book(book)
+                .user(user)
+                .rentDate(LocalDate.now())
+                .dueDate(LocalDate.now().plusDays(14))
+                .status(RentStatus.ACTIVE)
+                .build();
+    }
+
+    @Benchmark
+    public BookResponse bookToDto() {
+        return bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public RentResponse rentToDto() {
+        return rentMapper.toDto(rent);
+    }
+}
@@ -1,12 +1,17 @@
 package com.example.bookify.configuration;
 
+import com.example.bookify.security.TokenClaims;
+import com.example.bookify.security.TokenPrincipal;
 import com.example.bookify.service.JwtService;
+import com.example.bookify.service.TokenRevocationService;
+import com.example.bookify.service.TokenVersionService;
 import com.example.bookify.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,13 +26,17 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserService userService;
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationService tokenRevocationService;
 
+    @Value("${jwt.stateless-authentication:true}")
+    private boolean statelessAuthentication;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
+        final TokenClaims claims;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -35,11 +44,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
+        claims = jwtService.parseToken(jwt);
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+        // Refresh tokens only work on /api/auth/refresh, and revoked tokens never authenticate
+        if (claims.getSubject() != null && claims.isAccessToken() && !tokenRevocationService.isRevoked(claims.getId())
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = statelessAuthentication
+                    ? loadPrincipalFromClaims(claims)
+                    : userService.loadUserByUsername(claims.getSubject());
+            if (userDetails != null && jwtService.isTokenValid(jwt, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
@@ -49,4 +62,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails loadPrincipalFromClaims(TokenClaims claims) {
+        if (!tokenVersionService.isCurrent(claims.getSubject(), claims.getTokenVersion())) {
+            return null;
+        }
+        return TokenPrincipal.from(claims);
+    }
 }
@@ -2,19 +2,24 @@ package com.example.bookify.controller;
 
 import com.example.bookify.dto.AuthenticationRequest;
 import com.example.bookify.dto.AuthenticationResponse;
+import com.example.bookify.dto.RefreshTokenRequest;
 import com.example.bookify.dto.RegisterRequest;
 import com.example.bookify.service.AuthenticationService;
+import com.example.bookify.service.LoginRateLimiter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -26,6 +31,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthenticationController {
 
     private final AuthenticationService service;
+    private final LoginRateLimiter loginRateLimiter;
 
 
     @Operation(
@@ -53,14 +59,52 @@ public class AuthenticationController {
                     @ApiResponse(responseCode = "200", description = "Authentication successful",
                             content = @Content(schema = @Schema(implementation = AuthenticationResponse.class))),
                     @ApiResponse(responseCode = "401", description = "Invalid credentials",
-                            content = @Content(schema = @Schema(example = "{ \"error\": \"Invalid email or password\" }")))
+                            content = @Content(schema = @Schema(example = "{ \"error\": \"Invalid email or password\" }"))),
+                    @ApiResponse(responseCode = "429", description = "Too many login attempts for this email or client",
+                            content = @Content(schema = @Schema(example = "{ \"error\": \"Too many login attempts, please retry later\" }")))
             }
     )
     @PostMapping("/authenticate")
-    public ResponseEntity<AuthenticationResponse> authenticate(@Valid @RequestBody AuthenticationRequest request) {
+    public ResponseEntity<AuthenticationResponse> authenticate(@Valid @RequestBody AuthenticationRequest request,
+                                                               HttpServletRequest servletRequest) {
         log.info("Authentication attempt for email={}", request.getEmail());
+        loginRateLimiter.acquire(request.getEmail(), servletRequest.getRemoteAddr());
         AuthenticationResponse response = service.authenticate(request);
         log.debug("Authentication successful for email={}", request.getEmail());
         return ResponseEntity.ok(response);
     }
+
+    @Operation(
+            summary = "Refresh tokens",
+            description = "Exchanges a refresh token for a new access token and a new refresh token. " +
+                    "The refresh token passed in is revoked and can't be used again.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "New token pair issued",
+                            content = @Content(schema = @Schema(implementation = AuthenticationResponse.class))),
+                    @ApiResponse(responseCode = "401", description = "Refresh token is invalid, expired or already used",
+                            content = @Content(schema = @Schema(example = "{ \"error\": \"Refresh token is invalid or expired\" }")))
+            }
+    )
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        log.info("Token refresh request");
+        return ResponseEntity.ok(service.refresh(request));
+    }
+
+    @Operation(
+            summary = "Log out",
+            description = "Revokes the access token from the Authorization header and the refresh token in the body, " +
+                    "when present. Invalid or already expired tokens are ignored.",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Tokens revoked")
+            }
+    )
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                       @RequestBody(required = false) RefreshTokenRequest request) {
+        log.info("Logout request");
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        service.logout(accessToken, request == null ? null : request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,9 +1,17 @@
 package com.example.bookify.controller;
 
+import com.example.bookify.dto.BookAvailability;
+import com.example.bookify.dto.BookImportResponse;
 import com.example.bookify.dto.BookRequest;
 import com.example.bookify.dto.BookResponse;
+import com.example.bookify.dto.BookSearchHit;
+import com.example.bookify.dto.BookSearchRequest;
+import com.example.bookify.dto.CursorPageResponse;
+import com.example.bookify.service.BookAvailabilityStreamService;
+import com.example.bookify.service.BookImportService;
 import com.example.bookify.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,10 +19,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.BadRequestException;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -24,7 +39,12 @@ import java.util.List;
 @Tag(name = "Books", description = "Endpoints for managing books in the library")
 public class BookController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_AVAILABILITY_IDS = 1000;
+
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookAvailabilityStreamService bookAvailabilityStreamService;
 
     @Operation(
             summary = "Create a new book",
@@ -45,19 +65,157 @@ public class BookController {
     }
 
     @Operation(
-            summary = "Get all books",
-            description = "Retrieves a list of all books available in the library.",
+            summary = "Import books from NDJSON (Admin Only)",
+            description = "Streams one BookRequest JSON object per line. Valid rows are inserted, " +
+                    "invalid rows are reported with their line number without aborting the import.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(mediaType = NDJSON, schema = @Schema(type = "string",
+                            example = "{\"title\":\"Dune\",\"description\":\"Science fiction novel\",\"publicationYear\":1965,\"category\":\"FICTION\",\"authorName\":\"Frank Herbert\",\"available\":true}"))),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Import summary with rejected rows",
+                            content = @Content(schema = @Schema(implementation = BookImportResponse.class)))
+            }
+    )
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public ResponseEntity<BookImportResponse> importBooksNdjson(@Parameter(hidden = true) InputStream body) throws IOException {
+        log.info("POST /api/books/import - importing books from NDJSON");
+        BookImportResponse response = bookImportService.importNdjson(body);
+        log.debug("{} books imported, {} rows rejected", response.getImported(), response.getFailed());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Import books from CSV (Admin Only)",
+            description = "Streams a CSV file with a header row naming the columns title, description, publicationYear, " +
+                    "category, authorName and optionally available. Invalid rows are reported with their line number " +
+                    "without aborting the import.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(mediaType = "text/csv", schema = @Schema(type = "string",
+                            example = "title,description,publicationYear,category,authorName,available\n" +
+                                    "Dune,Science fiction novel,1965,FICTION,Frank Herbert,true"))),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Import summary with rejected rows",
+                            content = @Content(schema = @Schema(implementation = BookImportResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Missing or incomplete CSV header",
+                            content = @Content(schema = @Schema(example = "{ \"error\": \"CSV header is missing columns [title]\" }")))
+            }
+    )
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<BookImportResponse> importBooksCsv(@Parameter(hidden = true) InputStream body) throws IOException {
+        log.info("POST /api/books/import - importing books from CSV");
+        BookImportResponse response = bookImportService.importCsv(body);
+        log.debug("{} books imported, {} rows rejected", response.getImported(), response.getFailed());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Get books page",
+            description = "Retrieves a page of books ordered by ID. Pass the returned nextCursor to get the following page.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "List of books",
-                            content = @Content(schema = @Schema(implementation = BookResponse.class)))
+                    @ApiResponse(responseCode = "200", description = "Page of books",
+                            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+                    @ApiResponse(responseCode = "304", description = "Catalog unchanged since the ETag in If-None-Match"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                            content = @Content(schema = @Schema(example = "{ \"error\": \"Cursor 'abc' is invalid\" }")))
             }
     )
     @GetMapping
-    public ResponseEntity<List<BookResponse>> getAllBooks() {
-        log.info("GET /api/books - retrieving list of all books");
-        List<BookResponse> responses = bookService.getAll();
-        log.debug("{} books retrieved", responses.size());
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<CursorPageResponse<BookResponse>> getAllBooks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        log.info("GET /api/books - retrieving page of books, cursor={}, size={}", cursor, size);
+        // Read the watermark before the page, so a change committed in between can't pair old rows with a new ETag
+        String etag = "\"catalog-" + bookService.getCatalogVersion() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            log.debug("Catalog unchanged, answering 304");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        CursorPageResponse<BookResponse> page = bookService.getPage(cursor, size);
+        log.debug("{} books retrieved", page.getContent().size());
+        return ResponseEntity.ok().eTag(etag).body(page);
+    }
+
+    @Operation(
+            summary = "Search books",
+            description = "Retrieves a page of books matching all given filters, ordered by ID. " +
+                    "Pass the returned nextCursor to get the following page.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page of matching books",
+                            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid filter or cursor",
+                            content = @Content(schema = @Schema(example = "{ \"error\": \"Cursor 'abc' is invalid\" }")))
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageResponse<BookResponse>> searchBooks(
+            @Valid @ParameterObject BookSearchRequest filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("GET /api/books/search - searching books with filter {}", filter);
+        CursorPageResponse<BookResponse> page = bookService.search(filter, cursor, size);
+        log.debug("{} books found", page.getContent().size());
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(
+            summary = "Get availability of several books",
+            description = "Answers from an in-memory availability index, so clients can poll many books cheaply. " +
+                    "Ids of books that don't exist are left out of the response.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Availability of the requested books",
+                            content = @Content(schema = @Schema(implementation = BookAvailability.class))),
+                    @ApiResponse(responseCode = "400", description = "Too many ids requested",
+                            content = @Content(schema = @Schema(example = "{ \"error\": \"At most 1000 ids can be requested at once\" }")))
+            }
+    )
+    @GetMapping("/availability")
+    public ResponseEntity<List<BookAvailability>> getAvailability(@RequestParam List<Long> ids)
+            throws BadRequestException {
+        log.info("GET /api/books/availability - fetching availability of {} books", ids.size());
+        if (ids.size() > MAX_AVAILABILITY_IDS) {
+            throw new BadRequestException("At most " + MAX_AVAILABILITY_IDS + " ids can be requested at once");
+        }
+        return ResponseEntity.ok(bookService.getAvailability(ids));
+    }
+
+    @Operation(
+            summary = "Stream availability changes",
+            description = "Server-Sent Events stream with an 'availability' event whenever a book is rented, returned " +
+                    "or edited into a different availability. Pass ids to follow specific books, or none to follow all. " +
+                    "An 'overflow' event means changes were dropped for a slow client; re-read GET /api/books/availability.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Event stream",
+                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    schema = @Schema(implementation = BookAvailability.class)))
+            }
+    )
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(@RequestParam(required = false) List<Long> ids) throws BadRequestException {
+        List<Long> bookIds = ids == null ? List.of() : ids;
+        log.info("GET /api/books/availability/stream - streaming availability of {} books",
+                bookIds.isEmpty() ? "all" : bookIds.size());
+        if (bookIds.size() > MAX_AVAILABILITY_IDS) {
+            throw new BadRequestException("At most " + MAX_AVAILABILITY_IDS + " ids can be followed at once");
+        }
+        return bookAvailabilityStreamService.subscribe(bookIds);
+    }
+
+    @Operation(
+            summary = "Full-text search of books",
+            description = "Searches book titles, authors and descriptions, returning the best matches ranked by relevance.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Ranked list of matching books",
+                            content = @Content(schema = @Schema(implementation = BookSearchHit.class)))
+            }
+    )
+    @GetMapping("/full-text")
+    public ResponseEntity<List<BookSearchHit>> searchBooksText(@RequestParam("q") String query,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        log.info("GET /api/books/full-text - searching books for '{}'", query);
+        List<BookSearchHit> hits = bookService.searchText(query, limit);
+        log.debug("{} books matched", hits.size());
+        return ResponseEntity.ok(hits);
     }
 
     @Operation(
@@ -66,16 +224,22 @@ public class BookController {
             responses = {
                     @ApiResponse(responseCode = "200", description = "Book details retrieved",
                             content = @Content(schema = @Schema(implementation = BookResponse.class))),
+                    @ApiResponse(responseCode = "304", description = "Book unchanged since the ETag in If-None-Match"),
                     @ApiResponse(responseCode = "404", description = "Book not found",
                             content = @Content(schema = @Schema(example = "{ \"error\": \"Book with id=1 not found\" }")))
             }
     )
     @GetMapping("/{id}")
-    public ResponseEntity<BookResponse> getBookById(@PathVariable Long id) {
+    public ResponseEntity<BookResponse> getBookById(@PathVariable Long id, WebRequest webRequest) {
         log.info("GET /api/books/{} - retrieving book details", id);
         BookResponse response = bookService.getById(id);
+        String etag = "\"" + response.getId() + "-" + response.getVersion() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            log.debug("Book with id={} unchanged, answering 304", id);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         log.debug("Book details retrieved: {}", response);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).body(response);
     }
 
     @Operation(
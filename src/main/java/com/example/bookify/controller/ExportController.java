@@ -0,0 +1,62 @@
+package com.example.bookify.controller;
+
+import com.example.bookify.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Export", description = "Streaming exports for analytics (Admin Only)")
+public class ExportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ExportService exportService;
+
+    @Operation(
+            summary = "Export all books",
+            description = "Streams every book ordered by ID as newline-delimited JSON, one BookResponse per line.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Books as NDJSON",
+                            content = @Content(mediaType = NDJSON, schema = @Schema(type = "string")))
+            }
+    )
+    @GetMapping("/books")
+    public void exportBooks(HttpServletResponse response) throws IOException {
+        log.info("GET /api/export/books - exporting books");
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        long count = exportService.exportBooks(response.getOutputStream());
+        log.debug("{} books exported", count);
+    }
+
+    @Operation(
+            summary = "Export all rents",
+            description = "Streams every rent ordered by ID as newline-delimited JSON, one RentResponse per line.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Rents as NDJSON",
+                            content = @Content(mediaType = NDJSON, schema = @Schema(type = "string")))
+            }
+    )
+    @GetMapping("/rents")
+    public void exportRents(HttpServletResponse response) throws IOException {
+        log.info("GET /api/export/rents - exporting rents");
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        long count = exportService.exportRents(response.getOutputStream());
+        log.debug("{} rents exported", count);
+    }
+}
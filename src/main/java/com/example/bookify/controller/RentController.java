@@ -1,5 +1,6 @@
 package com.example.bookify.controller;
 
+import com.example.bookify.dto.CursorPageResponse;
 import com.example.bookify.dto.RentRequest;
 import com.example.bookify.dto.RentResponse;
 import com.example.bookify.model.User;
@@ -65,6 +66,27 @@ public class RentController {
         return ResponseEntity.ok(responses);
     }
 
+    @Operation(
+            summary = "Get rent history for current user",
+            description = "Retrieves a page of the authenticated user's rents, newest first. " +
+                    "Pass the returned nextCursor to get older rents.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page of user rents",
+                            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                            content = @Content(schema = @Schema(example = "{ \"error\": \"Cursor 'abc' is invalid\" }")))
+            }
+    )
+    @GetMapping("/my/history")
+    public ResponseEntity<CursorPageResponse<RentResponse>> getRentHistoryForUser(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("GET /api/rents/my/history - Retrieving page of user rents, cursor={}, size={}", cursor, size);
+        CursorPageResponse<RentResponse> page = rentService.getHistoryForUser(cursor, size);
+        log.debug("{} rents retrieved", page.getContent().size());
+        return ResponseEntity.ok(page);
+    }
+
     @Operation(
             summary = "Get all rents",
             description = "Retrieves all rents in the system. Accessible only by admins.",
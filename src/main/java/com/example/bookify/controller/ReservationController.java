@@ -0,0 +1,109 @@
+package com.example.bookify.controller;
+
+import com.example.bookify.dto.ReservationRequest;
+import com.example.bookify.dto.ReservationResponse;
+import com.example.bookify.service.ReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reservations")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Reservations", description = "Endpoints for queueing up for books that are rented out")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    @Operation(
+            summary = "Reserve a book",
+            description = "Puts the current user in the book's queue. Returned books are handed to the oldest " +
+                    "reservation as a rent. If the book is available right away, it is rented immediately.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Reservation created, WAITING or already FULFILLED",
+                            content = @Content(schema = @Schema(implementation = ReservationResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Book not found")
+            }
+    )
+    @PostMapping
+    public ResponseEntity<ReservationResponse> reserve(@Valid @RequestBody ReservationRequest request) {
+        log.info("POST /api/reservations - Reserving Book with bookID: {}", request.getBookId());
+        ReservationResponse response = reservationService.reserve(request);
+        log.debug("Reservation with ID {} is {}", response.getId(), response.getStatus());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @Operation(
+            summary = "Get reservations for current user",
+            description = "Retrieves all reservations of the authenticated user, newest first.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "List of user reservations",
+                            content = @Content(schema = @Schema(implementation = ReservationResponse.class)))
+            }
+    )
+    @GetMapping("/my")
+    public ResponseEntity<List<ReservationResponse>> getAllReservationsForUser() {
+        log.info("GET /api/reservations/my - Retrieving reservations that belong to user");
+        List<ReservationResponse> responses = reservationService.getAllForUser();
+        log.debug("{} reservations retrieved", responses.size());
+        return ResponseEntity.ok(responses);
+    }
+
+    @Operation(
+            summary = "Get a reservation",
+            description = "Retrieves a reservation of the authenticated user with its place in the queue.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Reservation details",
+                            content = @Content(schema = @Schema(implementation = ReservationResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Reservation not found")
+            }
+    )
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservationResponse> getReservation(@PathVariable Long id) {
+        log.info("GET /api/reservations/{} - Retrieving reservation", id);
+        return ResponseEntity.ok(reservationService.getById(id));
+    }
+
+    @Operation(
+            summary = "Wait for a reservation to be fulfilled",
+            description = "Long-poll: answers as soon as the reservation is fulfilled or cancelled, or with its " +
+                    "current state once reservations.long-poll.timeout passes. Call it again while it is WAITING.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Reservation state",
+                            content = @Content(schema = @Schema(implementation = ReservationResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Reservation not found")
+            }
+    )
+    @GetMapping("/{id}/await")
+    public DeferredResult<ReservationResponse> awaitReservation(@PathVariable Long id) {
+        log.info("GET /api/reservations/{}/await - Waiting for reservation", id);
+        return reservationService.awaitFulfillment(id);
+    }
+
+    @Operation(
+            summary = "Cancel a reservation",
+            description = "Leaves the book's queue. Fulfilled reservations are not affected, return the rent instead.",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Reservation cancelled"),
+                    @ApiResponse(responseCode = "404", description = "Reservation not found")
+            }
+    )
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelReservation(@PathVariable Long id) {
+        log.info("DELETE /api/reservations/{} - Cancelling reservation", id);
+        reservationService.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.bookify.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookAvailability {
+    @Schema(description = "Unique identifier of the book", example = "1")
+    private Long bookId;
+
+    @Schema(description = "Whether the book can be rented right now", example = "true")
+    private boolean available;
+}
@@ -0,0 +1,17 @@
+package com.example.bookify.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookImportError {
+    @Schema(description = "Line of the uploaded file where the rejected row starts", example = "42")
+    private long line;
+
+    @Schema(description = "Reason the row was rejected", example = "Title mustn't be blank")
+    private String error;
+}
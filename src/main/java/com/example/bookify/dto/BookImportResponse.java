@@ -0,0 +1,22 @@
+package com.example.bookify.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookImportResponse {
+    @Schema(description = "Number of books inserted", example = "9998")
+    private int imported;
+
+    @Schema(description = "Number of rows rejected", example = "2")
+    private int failed;
+
+    @Schema(description = "Rejected rows in file order, capped at books.import.max-reported-errors")
+    private List<BookImportError> errors;
+}
@@ -32,4 +32,7 @@ public class BookResponse {
 
     @Schema(description = "Author's full name", example = "Robert C. Martin")
     private String authorName;
+
+    @Schema(description = "Version of the book, incremented on every change", example = "3")
+    private long version;
 }
@@ -0,0 +1,25 @@
+package com.example.bookify.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSearchHit {
+    @Schema(description = "Unique identifier of the book", example = "1")
+    private Long id;
+
+    @Schema(description = "Title of the book", example = "Clean Architecture")
+    private String title;
+
+    @Schema(description = "Author's full name", example = "Robert C. Martin")
+    private String authorName;
+
+    @Schema(description = "BM25 relevance score, higher is better", example = "3.72")
+    private float score;
+}
@@ -0,0 +1,32 @@
+package com.example.bookify.dto;
+
+import com.example.bookify.model.Category;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookSearchRequest {
+    @Schema(description = "Category of the book", example = "FICTION")
+    private Category category;
+
+    @Schema(description = "Beginning of the author's name, case-insensitive", example = "George")
+    @Size(max = 255, message = "Author's name must be shorter than 255 symbols")
+    private String author;
+
+    @Schema(description = "Earliest year of publication (inclusive)", example = "1900")
+    @Min(value = 0, message = "Publication year mustn't be less than 0 (No books from B.C.)")
+    private Integer yearFrom;
+
+    @Schema(description = "Latest year of publication (inclusive)", example = "1950")
+    @Min(value = 0, message = "Publication year mustn't be less than 0 (No books from B.C.)")
+    private Integer yearTo;
+
+    @Schema(description = "Availability status of the book", example = "true")
+    private Boolean available;
+}
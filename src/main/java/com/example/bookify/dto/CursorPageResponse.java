@@ -0,0 +1,19 @@
+package com.example.bookify.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponse<T> {
+    @Schema(description = "Items of the current page")
+    private List<T> content;
+
+    @Schema(description = "Opaque cursor of the next page (null if this is the last page)", example = "MTA")
+    private String nextCursor;
+}
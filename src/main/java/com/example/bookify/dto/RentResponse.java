@@ -26,6 +26,9 @@ public class RentResponse {
     @Schema(description = "Date when the book was rented", example = "2025-08-25")
     private LocalDate rentDate;
 
+    @Schema(description = "Date by which the book has to be returned", example = "2025-09-08")
+    private LocalDate dueDate;
+
     @Schema(description = "Date when the book was returned (null if not yet returned)", example = "2025-09-01")
     private LocalDate returnDate;
 
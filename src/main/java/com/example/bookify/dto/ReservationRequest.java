@@ -0,0 +1,16 @@
+package com.example.bookify.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationRequest {
+    @NotNull(message = "Book id mustn't be null")
+    @Schema(description = "ID of the book to reserve", example = "5")
+    private Long bookId;
+}
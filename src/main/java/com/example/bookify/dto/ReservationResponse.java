@@ -0,0 +1,37 @@
+package com.example.bookify.dto;
+
+import com.example.bookify.model.ReservationStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponse {
+    @Schema(description = "Unique identifier of the reservation", example = "7")
+    private Long id;
+
+    @Schema(description = "ID of the reserved book", example = "5")
+    private Long bookId;
+
+    @Schema(description = "Title of the reserved book", example = "Clean Code")
+    private String bookTitle;
+
+    @Schema(description = "Current status of the reservation", example = "WAITING")
+    private ReservationStatus status;
+
+    @Schema(description = "Place in the book's queue, 1 being next (null unless waiting)", example = "2")
+    private Long position;
+
+    @Schema(description = "ID of the rent the book was handed over with (null until fulfilled)", example = "10")
+    private Long rentId;
+
+    @Schema(description = "When the reservation was made", example = "2025-08-25T10:15:30Z")
+    private Instant createdAt;
+}
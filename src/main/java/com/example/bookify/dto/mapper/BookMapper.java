@@ -27,6 +27,7 @@ public class BookMapper {
                 .category(book.getCategory())
                 .available(book.isAvailable())
                 .authorName(book.getAuthorName())
+                .version(book.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,41 @@
+package com.example.bookify.dto.mapper;
+
+import com.example.bookify.dto.CursorPageResponse;
+import com.example.bookify.exception.InvalidCursorException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+@Component
+public class CursorMapper {
+    public String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor '" + cursor + "' is invalid");
+        }
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code pageSize + 1}: the extra row only signals
+     * that a next page exists and is not returned.
+     */
+    public <T> CursorPageResponse<T> toPage(List<T> rows, int pageSize, ToLongFunction<T> idExtractor) {
+        if (rows.size() <= pageSize) {
+            return new CursorPageResponse<>(rows, null);
+        }
+        List<T> content = rows.subList(0, pageSize);
+        return new CursorPageResponse<>(content, encode(idExtractor.applyAsLong(content.get(pageSize - 1))));
+    }
+}
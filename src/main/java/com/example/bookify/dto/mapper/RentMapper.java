@@ -26,6 +26,7 @@ public class RentMapper {
                 .bookTitle(rent.getBook().getTitle())
                 .userName(rent.getUser().getUsername())
                 .rentDate(rent.getRentDate())
+                .dueDate(rent.getDueDate())
                 .returnDate(rent.getReturnDate())
                 .status(rent.getStatus())
                 .build();
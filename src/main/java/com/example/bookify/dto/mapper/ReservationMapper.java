@@ -0,0 +1,20 @@
+package com.example.bookify.dto.mapper;
+
+import com.example.bookify.dto.ReservationResponse;
+import com.example.bookify.model.Reservation;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReservationMapper {
+    public ReservationResponse toDto(Reservation reservation, Long position) {
+        return ReservationResponse.builder()
+                .id(reservation.getId())
+                .bookId(reservation.getBook().getId())
+                .bookTitle(reservation.getBook().getTitle())
+                .status(reservation.getStatus())
+                .position(position)
+                .rentId(reservation.getRent() == null ? null : reservation.getRent().getId())
+                .createdAt(reservation.getCreatedAt())
+                .build();
+    }
+}
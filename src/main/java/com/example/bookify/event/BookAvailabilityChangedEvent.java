@@ -0,0 +1,8 @@
+package com.example.bookify.event;
+
+/**
+ * Published when a book is rented, returned or edited into a different availability.
+ * Listeners receive it after the publishing transaction commits.
+ */
+public record BookAvailabilityChangedEvent(long bookId, boolean available) {
+}
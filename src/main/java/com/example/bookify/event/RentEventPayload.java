@@ -0,0 +1,18 @@
+package com.example.bookify.event;
+
+import com.example.bookify.model.Rent;
+import com.example.bookify.model.RentStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Outbox payload of rent events; carries the ids that {@link com.example.bookify.dto.RentResponse} leaves out.
+ */
+public record RentEventPayload(Long rentId, Long bookId, Long userId, RentStatus status,
+                               LocalDate rentDate, LocalDate dueDate, LocalDate returnDate) {
+
+    public static RentEventPayload of(Rent rent) {
+        return new RentEventPayload(rent.getId(), rent.getBook().getId(), rent.getUser().getId(), rent.getStatus(),
+                rent.getRentDate(), rent.getDueDate(), rent.getReturnDate());
+    }
+}
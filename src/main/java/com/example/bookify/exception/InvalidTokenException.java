@@ -0,0 +1,7 @@
+package com.example.bookify.exception;
+
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
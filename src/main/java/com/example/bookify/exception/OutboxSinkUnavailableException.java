@@ -0,0 +1,11 @@
+package com.example.bookify.exception;
+
+public class OutboxSinkUnavailableException extends RuntimeException {
+    public OutboxSinkUnavailableException(String message) {
+        super(message);
+    }
+
+    public OutboxSinkUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.bookify.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "catalog_version")
+public class CatalogVersion {
+    // The table holds a single row with this id
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    // Incremented after every committed change to the book catalog, by whichever node made it
+    @Column(nullable = false)
+    private long version;
+}
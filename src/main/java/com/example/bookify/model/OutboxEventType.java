@@ -0,0 +1,16 @@
+package com.example.bookify.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OutboxEventType {
+    BOOK_CREATED("BOOK"),
+    BOOK_UPDATED("BOOK"),
+    BOOK_DELETED("BOOK"),
+    RENT_CREATED("RENT"),
+    RENT_RETURNED("RENT");
+
+    private final String aggregateType;
+}
@@ -26,6 +26,7 @@ public class Rent {
     private Book book;
 
     private LocalDate rentDate;
+    private LocalDate dueDate;
     private LocalDate returnDate;
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,38 @@
+package com.example.bookify.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Reservation {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id")
+    private Book book;
+
+    // Rent the book was handed over with, set once the reservation is fulfilled
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "rent_id")
+    private Rent rent;
+
+    @Enumerated(EnumType.STRING)
+    private ReservationStatus status;
+
+    // Position in the book's queue; waiting reservations are served oldest first
+    private Instant createdAt;
+}
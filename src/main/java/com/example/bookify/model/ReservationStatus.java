@@ -0,0 +1,12 @@
+package com.example.bookify.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public enum ReservationStatus {
+    @Schema(description="Enum that describes reservations waiting for the book")
+    WAITING,
+    @Schema(description="Enum that describes reservations that were turned into a rent")
+    FULFILLED,
+    @Schema(description="Enum that describes reservations cancelled by the user")
+    CANCELLED
+}
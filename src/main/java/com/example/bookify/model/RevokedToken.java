@@ -0,0 +1,32 @@
+package com.example.bookify.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "revoked_token")
+public class RevokedToken {
+    // jti claim of the revoked token
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    // Expiration of the revoked token, after which the row is no longer needed
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    // Only access token revocations are mirrored in memory, refresh tokens are checked here when redeemed
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RevokedTokenType tokenType;
+
+    // Database time of the revocation, which nodes use to fetch only the revocations they have not seen
+    @Column(nullable = false)
+    private Instant revokedAt;
+}
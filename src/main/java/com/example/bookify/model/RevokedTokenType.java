@@ -0,0 +1,6 @@
+package com.example.bookify.model;
+
+public enum RevokedTokenType {
+    ACCESS,
+    REFRESH
+}
@@ -16,6 +16,7 @@ import java.util.List;
 @Builder
 @Table(name = "users")
 @ToString(exclude = "rents")
+@EqualsAndHashCode(exclude = "rents")
 public class User implements UserDetails {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -28,7 +29,10 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Role role;
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    // Bumped whenever previously issued tokens of the user must stop being accepted
+    private int tokenVersion;
+
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     private List<Rent> rents;
 
     @Override
@@ -1,9 +1,52 @@
 package com.example.bookify.repository;
 
+import com.example.bookify.dto.BookAvailability;
+import com.example.bookify.dto.BookResponse;
 import com.example.bookify.model.Book;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+
+    @Query("select new com.example.bookify.dto.BookResponse(b.id, b.title, b.description, b.publicationYear, " +
+            "b.category, b.available, b.authorName, b.version) from Book b where b.id > :afterId order by b.id")
+    List<BookResponse> findPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    // Streamed in id order for exports; the fetch size makes the driver read rows in chunks instead of all at once
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.bookify.dto.BookResponse(b.id, b.title, b.description, b.publicationYear, " +
+            "b.category, b.available, b.authorName, b.version) from Book b order by b.id")
+    Stream<BookResponse> streamAll();
+
+    @Query("select new com.example.bookify.dto.BookAvailability(b.id, b.available) from Book b " +
+            "where b.id > :afterId order by b.id")
+    List<BookAvailability> findAvailabilityPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("select new com.example.bookify.dto.BookAvailability(b.id, b.available) from Book b where b.id in :ids")
+    List<BookAvailability> findAvailabilityByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Serializes reservations and returns of one book, see ReservationServiceImpl
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Book b where b.id = :id")
+    Optional<Book> findByIdForUpdate(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Book b set b.available = false, b.version = b.version + 1 where b.id = :id and b.available = true")
+    int claimIfAvailable(@Param("id") Long id);
 }
@@ -0,0 +1,66 @@
+package com.example.bookify.repository;
+
+import com.example.bookify.dto.BookSearchRequest;
+import com.example.bookify.model.Book;
+import com.example.bookify.model.Category;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    public static Specification<Book> matching(BookSearchRequest filter, long afterId) {
+        List<Specification<Book>> specifications = new ArrayList<>();
+        specifications.add(idGreaterThan(afterId));
+        if (filter.getCategory() != null) {
+            specifications.add(hasCategory(filter.getCategory()));
+        }
+        if (filter.getAuthor() != null && !filter.getAuthor().isBlank()) {
+            specifications.add(authorStartsWith(filter.getAuthor()));
+        }
+        if (filter.getYearFrom() != null) {
+            specifications.add(publishedFrom(filter.getYearFrom()));
+        }
+        if (filter.getYearTo() != null) {
+            specifications.add(publishedTo(filter.getYearTo()));
+        }
+        if (filter.getAvailable() != null) {
+            specifications.add(hasAvailability(filter.getAvailable()));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    public static Specification<Book> idGreaterThan(long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    public static Specification<Book> hasCategory(Category category) {
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    // Prefix match on lower(author_name), served by the idx_book_author_lower index
+    public static Specification<Book> authorStartsWith(String author) {
+        String pattern = author.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("authorName")), pattern, '\\');
+    }
+
+    public static Specification<Book> publishedFrom(int year) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("publicationYear"), year);
+    }
+
+    public static Specification<Book> publishedTo(int year) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("publicationYear"), year);
+    }
+
+    public static Specification<Book> hasAvailability(boolean available) {
+        return (root, query, cb) -> cb.equal(root.get("available"), available);
+    }
+}
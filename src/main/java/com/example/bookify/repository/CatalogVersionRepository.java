@@ -0,0 +1,26 @@
+package com.example.bookify.repository;
+
+import com.example.bookify.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Integer> {
+
+    @Query("select c.version from CatalogVersion c where c.id = " + CatalogVersion.ID)
+    Optional<Long> findCurrent();
+
+    @Modifying
+    @Query("update CatalogVersion c set c.version = c.version + 1 where c.id = " + CatalogVersion.ID)
+    int increment();
+
+    // Returns 0 when another transaction created the row first
+    @Modifying
+    @Query(value = "insert into catalog_version (id, version) values (" + CatalogVersion.ID + ", 1) on conflict do nothing",
+            nativeQuery = true)
+    int insertIfAbsent();
+}
@@ -1,13 +1,50 @@
 package com.example.bookify.repository;
 
+import com.example.bookify.dto.RentResponse;
 import com.example.bookify.model.Rent;
-import com.example.bookify.model.User;
+import com.example.bookify.model.RentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface RentRepository extends JpaRepository<Rent, Long> {
-    List<Rent> findAllByUser(User user);
+    @Query("select new com.example.bookify.dto.RentResponse(r.id, b.title, u.email, r.rentDate, r.dueDate, r.returnDate, r.status) " +
+            "from Rent r join r.book b join r.user u order by r.id")
+    List<RentResponse> findAllResponses();
+
+    @Query("select new com.example.bookify.dto.RentResponse(r.id, b.title, u.email, r.rentDate, r.dueDate, r.returnDate, r.status) " +
+            "from Rent r join r.book b join r.user u where u.id = :userId order by r.id")
+    List<RentResponse> findAllResponsesByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.example.bookify.dto.RentResponse(r.id, b.title, u.email, r.rentDate, r.dueDate, r.returnDate, r.status) " +
+            "from Rent r join r.book b join r.user u where u.id = :userId and r.id < :beforeId order by r.id desc")
+    List<RentResponse> findHistoryPage(@Param("userId") Long userId, @Param("beforeId") long beforeId, Limit limit);
+
+    // Streamed in id order for exports; the fetch size makes the driver read rows in chunks instead of all at once
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.bookify.dto.RentResponse(r.id, b.title, u.email, r.rentDate, r.dueDate, r.returnDate, r.status) " +
+            "from Rent r join r.book b join r.user u order by r.id")
+    Stream<RentResponse> streamAllResponses();
+
+    @Query("select r.id from Rent r where r.status = :status and r.dueDate < :date order by r.dueDate, r.id")
+    List<Long> findIdsByStatusAndDueDateBefore(@Param("status") RentStatus status, @Param("date") LocalDate date, Limit limit);
+
+    // Reads the committed status even when the rent is already loaded into the persistence context
+    @Query("select r.status from Rent r where r.id = :id")
+    RentStatus findStatusById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Rent r set r.status = :to where r.id in :ids and r.status = :from")
+    int updateStatus(@Param("ids") List<Long> ids, @Param("from") RentStatus from, @Param("to") RentStatus to);
 }
@@ -0,0 +1,34 @@
+package com.example.bookify.repository;
+
+import com.example.bookify.model.Reservation;
+import com.example.bookify.model.ReservationStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+    // Head of the book's queue, read through the (book_id, created_at) index
+    @Query("select r from Reservation r where r.book.id = :bookId and r.status = :status order by r.createdAt, r.id")
+    List<Reservation> findQueue(@Param("bookId") Long bookId, @Param("status") ReservationStatus status, Limit limit);
+
+    @Query("select count(r) from Reservation r where r.book.id = :bookId and r.status = :status " +
+            "and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))")
+    long countAhead(@Param("bookId") Long bookId, @Param("status") ReservationStatus status,
+                    @Param("createdAt") Instant createdAt, @Param("id") Long id);
+
+    // Reads the committed status even when the reservation is already loaded into the persistence context
+    @Query("select r.status from Reservation r where r.id = :id")
+    ReservationStatus findStatusById(@Param("id") Long id);
+
+    Optional<Reservation> findByBookIdAndUserIdAndStatus(Long bookId, Long userId, ReservationStatus status);
+
+    @Query("select r from Reservation r join fetch r.book where r.user.id = :userId order by r.id desc")
+    List<Reservation> findAllByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,31 @@
+package com.example.bookify.repository;
+
+import com.example.bookify.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // Returns 0 when the token was already revoked, which lets refresh token rotation detect reuse atomically
+    @Modifying
+    @Query(value = "insert into revoked_token (jti, expires_at, token_type, revoked_at) " +
+            "values (:jti, :expiresAt, :tokenType, current_timestamp) on conflict do nothing",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("jti") String jti, @Param("expiresAt") Instant expiresAt,
+                       @Param("tokenType") String tokenType);
+
+    @Query("select t from RevokedToken t where t.tokenType = com.example.bookify.model.RevokedTokenType.ACCESS " +
+            "and t.revokedAt > :since and t.expiresAt > :now")
+    List<RevokedToken> findAccessTokensRevokedAfter(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,32 @@
+package com.example.bookify.security;
+
+import lombok.Value;
+
+import java.util.Date;
+import java.util.List;
+
+@Value
+public class TokenClaims {
+    public static final String ACCESS_TYPE = "access";
+    public static final String REFRESH_TYPE = "refresh";
+
+    String subject;
+    List<String> roles;
+    Date expiration;
+    int tokenVersion;
+    String id;
+    String type;
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+
+    // Tokens issued before token types were introduced carry no typ claim and are access tokens
+    public boolean isAccessToken() {
+        return type == null || ACCESS_TYPE.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return REFRESH_TYPE.equals(type);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.bookify.security;
+
+import lombok.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * Lightweight principal built from verified JWT claims, used instead of the {@code User} entity
+ * when stateless authentication is enabled.
+ */
+@Value
+public class TokenPrincipal implements UserDetails {
+    String username;
+    List<SimpleGrantedAuthority> authorities;
+
+    public static TokenPrincipal from(TokenClaims claims) {
+        return new TokenPrincipal(
+                claims.getSubject(),
+                claims.getRoles().stream().map(SimpleGrantedAuthority::new).toList()
+        );
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+}
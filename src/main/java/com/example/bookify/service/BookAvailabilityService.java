@@ -0,0 +1,16 @@
+package com.example.bookify.service;
+
+import com.example.bookify.dto.BookAvailability;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BookAvailabilityService {
+    Boolean isAvailable(long bookId);
+    List<BookAvailability> getAvailability(Collection<Long> bookIds);
+    long countAvailable();
+    void update(long bookId, boolean available);
+    void updateAll(List<BookAvailability> availabilities);
+    void remove(long bookId);
+    void reconcile();
+}
@@ -0,0 +1,12 @@
+package com.example.bookify.service;
+
+import com.example.bookify.event.BookAvailabilityChangedEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+
+public interface BookAvailabilityStreamService {
+    SseEmitter subscribe(Collection<Long> bookIds);
+    void onAvailabilityChanged(BookAvailabilityChangedEvent event);
+    int getSubscriberCount();
+}
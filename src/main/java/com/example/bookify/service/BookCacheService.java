@@ -0,0 +1,12 @@
+package com.example.bookify.service;
+
+import com.example.bookify.dto.BookResponse;
+
+import java.util.function.Function;
+
+public interface BookCacheService {
+    BookResponse getById(Long id, Function<Long, BookResponse> loader);
+    void evict(Long id);
+    void evictCatalog();
+    String catalogVersion();
+}
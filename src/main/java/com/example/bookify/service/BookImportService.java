@@ -0,0 +1,11 @@
+package com.example.bookify.service;
+
+import com.example.bookify.dto.BookImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BookImportService {
+    BookImportResponse importNdjson(InputStream input) throws IOException;
+    BookImportResponse importCsv(InputStream input) throws IOException;
+}
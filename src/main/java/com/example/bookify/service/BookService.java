@@ -1,7 +1,11 @@
 package com.example.bookify.service;
 
+import com.example.bookify.dto.BookAvailability;
 import com.example.bookify.dto.BookRequest;
 import com.example.bookify.dto.BookResponse;
+import com.example.bookify.dto.BookSearchHit;
+import com.example.bookify.dto.BookSearchRequest;
+import com.example.bookify.dto.CursorPageResponse;
 
 import java.util.List;
 
@@ -9,6 +13,11 @@ public interface BookService {
     BookResponse create(BookRequest bookRequest);
     BookResponse getById(Long id);
     List<BookResponse> getAll();
+    CursorPageResponse<BookResponse> getPage(String cursor, Integer size);
+    String getCatalogVersion();
+    CursorPageResponse<BookResponse> search(BookSearchRequest filter, String cursor, Integer size);
+    List<BookSearchHit> searchText(String query, int limit);
+    List<BookAvailability> getAvailability(List<Long> ids);
     BookResponse update(Long id, BookRequest updatedBookRequest);
     void delete(Long id);
 }
@@ -0,0 +1,14 @@
+package com.example.bookify.service;
+
+import com.example.bookify.dto.BookResponse;
+import com.example.bookify.dto.BookSearchHit;
+
+import java.util.List;
+
+public interface BookTextIndexService {
+    void rebuild();
+    void index(BookResponse book);
+    void indexAll(List<BookResponse> books);
+    void remove(Long bookId);
+    List<BookSearchHit> search(String query, int limit);
+}
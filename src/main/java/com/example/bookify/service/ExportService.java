@@ -0,0 +1,9 @@
+package com.example.bookify.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    long exportBooks(OutputStream output) throws IOException;
+    long exportRents(OutputStream output) throws IOException;
+}
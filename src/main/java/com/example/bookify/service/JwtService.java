@@ -1,5 +1,6 @@
 package com.example.bookify.service;
 
+import com.example.bookify.security.TokenClaims;
 import io.jsonwebtoken.Claims;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -8,6 +9,8 @@ import java.util.function.Function;
 public interface JwtService {
     String extractUsername(String token);
     <T> T extractClaim(String token, Function<Claims, T> claimsResolver);
+    TokenClaims parseToken(String token);
     String generateToken(UserDetails userDetails);
+    String generateRefreshToken(UserDetails userDetails);
     boolean isTokenValid(String token, UserDetails userDetails);
 }
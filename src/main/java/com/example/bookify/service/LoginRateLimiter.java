@@ -0,0 +1,5 @@
+package com.example.bookify.service;
+
+public interface LoginRateLimiter {
+    void acquire(String email, String clientIp);
+}
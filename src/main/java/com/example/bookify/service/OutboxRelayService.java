@@ -0,0 +1,6 @@
+package com.example.bookify.service;
+
+public interface OutboxRelayService {
+    int relay();
+    int purgePublished();
+}
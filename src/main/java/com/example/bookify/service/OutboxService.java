@@ -0,0 +1,7 @@
+package com.example.bookify.service;
+
+import com.example.bookify.model.OutboxEventType;
+
+public interface OutboxService {
+    void record(OutboxEventType type, Long aggregateId, Object payload);
+}
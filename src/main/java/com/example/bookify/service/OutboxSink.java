@@ -0,0 +1,19 @@
+package com.example.bookify.service;
+
+import com.example.bookify.exception.OutboxSinkUnavailableException;
+import com.example.bookify.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of outbox events, e.g. a message broker or a search index. Events arrive at least once:
+ * when a sink throws, the batch is delivered again to every sink one event at a time, so the event that
+ * fails can be retried and eventually parked while the rest go through. Events arrive in id order except
+ * around such a failing event.
+ * <p>
+ * A sink whose destination is down should throw {@link OutboxSinkUnavailableException}, so the events are
+ * retried without counting against their attempts.
+ */
+public interface OutboxSink {
+    void deliver(List<OutboxEvent> events);
+}
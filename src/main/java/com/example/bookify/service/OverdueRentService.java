@@ -0,0 +1,5 @@
+package com.example.bookify.service;
+
+public interface OverdueRentService {
+    int markOverdueRents();
+}
@@ -1,5 +1,6 @@
 package com.example.bookify.service;
 
+import com.example.bookify.dto.CursorPageResponse;
 import com.example.bookify.dto.RentRequest;
 import com.example.bookify.dto.RentResponse;
 
@@ -12,5 +13,6 @@ public interface RentService {
     RentResponse update(Long id, RentRequest updatedRentRequest);
     void delete(Long id);
     List<RentResponse> getAllForUser();
+    CursorPageResponse<RentResponse> getHistoryForUser(String cursor, Integer size);
     RentResponse returnBook(Long rentId);
 }
@@ -0,0 +1,17 @@
+package com.example.bookify.service;
+
+import com.example.bookify.dto.ReservationRequest;
+import com.example.bookify.dto.ReservationResponse;
+import com.example.bookify.model.Book;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+
+public interface ReservationService {
+    ReservationResponse reserve(ReservationRequest reservationRequest);
+    ReservationResponse getById(Long id);
+    List<ReservationResponse> getAllForUser();
+    void cancel(Long id);
+    DeferredResult<ReservationResponse> awaitFulfillment(Long id);
+    boolean handOff(Book book);
+}
@@ -0,0 +1,11 @@
+package com.example.bookify.service;
+
+import java.time.Instant;
+
+public interface TokenRevocationService {
+    void revokeAccessToken(String jti, Instant expiresAt);
+    boolean revokeRefreshToken(String jti, Instant expiresAt);
+    boolean isRevoked(String jti);
+    void sync();
+    void purgeExpired();
+}
@@ -0,0 +1,6 @@
+package com.example.bookify.service;
+
+public interface TokenVersionService {
+    boolean isCurrent(String email, int tokenVersion);
+    void evict(String email);
+}
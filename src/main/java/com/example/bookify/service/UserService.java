@@ -2,11 +2,12 @@ package com.example.bookify.service;
 
 import com.example.bookify.model.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.util.List;
 
-public interface UserService extends UserDetailsService {
+public interface UserService extends UserDetailsService, UserDetailsPasswordService {
     User create(User user);
     User getById(Long id);
     List<User> getAll();
@@ -14,4 +15,5 @@ public interface UserService extends UserDetailsService {
     void delete(Long id);
     UserDetails loadUserByUsername(String email);
     User getCurrentUser();
+    UserDetails updatePassword(UserDetails user, String newPassword);
 }
@@ -2,26 +2,38 @@ package com.example.bookify.service.impl;
 
 import com.example.bookify.dto.AuthenticationRequest;
 import com.example.bookify.dto.AuthenticationResponse;
+import com.example.bookify.dto.RefreshTokenRequest;
 import com.example.bookify.dto.RegisterRequest;
+import com.example.bookify.exception.InvalidTokenException;
 import com.example.bookify.model.Role;
 import com.example.bookify.model.User;
 import com.example.bookify.repository.UserRepository;
+import com.example.bookify.security.TokenClaims;
 import com.example.bookify.service.AuthenticationService;
 import com.example.bookify.service.JwtService;
+import com.example.bookify.service.TokenRevocationService;
+import com.example.bookify.service.TokenVersionService;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
+@Observed(name = "bookify.service")
 @RequiredArgsConstructor
+@Slf4j
 public class AuthenticationServiceImpl implements AuthenticationService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final TokenRevocationService tokenRevocationService;
+    private final TokenVersionService tokenVersionService;
 
     public AuthenticationResponse register(RegisterRequest request) {
         var user = new User();
@@ -32,8 +44,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         user.setRole(Role.USER);
         userRepository.save(user);
 
-        var jwtToken = jwtService.generateToken(user);
-        return new AuthenticationResponse(jwtToken);
+        return issueTokens(user);
     }
 
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
@@ -43,7 +54,56 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
         var user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow();
-        var jwtToken = jwtService.generateToken(user);
-        return new AuthenticationResponse(jwtToken);
+        return issueTokens(user);
+    }
+
+    public AuthenticationResponse refresh(RefreshTokenRequest request) {
+        TokenClaims claims = parseOrNull(request.getRefreshToken());
+        if (claims == null || !claims.isRefreshToken() || claims.isExpired() || claims.getId() == null
+                || !tokenVersionService.isCurrent(claims.getSubject(), claims.getTokenVersion())) {
+            throw new InvalidTokenException("Refresh token is invalid or expired");
+        }
+        // Each refresh token is good for one refresh; a second use means it was copied
+        if (!tokenRevocationService.revokeRefreshToken(claims.getId(), claims.getExpiration().toInstant())) {
+            log.warn("Rejected reuse of refresh token jti={} of email={}", claims.getId(), claims.getSubject());
+            throw new InvalidTokenException("Refresh token is invalid or expired");
+        }
+
+        var user = userRepository.findByEmail(claims.getSubject())
+                .orElseThrow(() -> new InvalidTokenException("Refresh token is invalid or expired"));
+        return issueTokens(user);
+    }
+
+    public void logout(String accessToken, String refreshToken) {
+        revokeIfValid(accessToken);
+        revokeIfValid(refreshToken);
+    }
+
+    private AuthenticationResponse issueTokens(User user) {
+        return new AuthenticationResponse(jwtService.generateToken(user), jwtService.generateRefreshToken(user));
+    }
+
+    private void revokeIfValid(String token) {
+        TokenClaims claims = parseOrNull(token);
+        if (claims == null || claims.getId() == null || claims.getExpiration() == null || claims.isExpired()) {
+            return;
+        }
+        if (claims.isRefreshToken()) {
+            tokenRevocationService.revokeRefreshToken(claims.getId(), claims.getExpiration().toInstant());
+        } else {
+            tokenRevocationService.revokeAccessToken(claims.getId(), claims.getExpiration().toInstant());
+        }
+    }
+
+    private TokenClaims parseOrNull(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return jwtService.parseToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Ignoring unparsable token: {}", e.getMessage());
+            return null;
+        }
     }
 }
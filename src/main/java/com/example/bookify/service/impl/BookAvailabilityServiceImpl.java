@@ -0,0 +1,277 @@
+package com.example.bookify.service.impl;
+
+import com.example.bookify.dto.BookAvailability;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.service.BookAvailabilityService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Availability of every book held in two bitmaps indexed by book id: one marks the ids that are known,
+ * the other the ones that are available. Reads are lock-free; writes happen after commit and are serialized
+ * by a lock. The bitmaps are loaded at startup and periodically rebuilt from the database, so changes made
+ * outside the application are picked up too. Books that aren't known yet are answered from the database.
+ */
+@Service
+@Slf4j
+public class BookAvailabilityServiceImpl implements BookAvailabilityService {
+
+    private static final int RELOAD_BATCH_SIZE = 10_000;
+
+    private final BookRepository bookRepository;
+    private final Counter driftCounter;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Bitmaps bitmaps = new Bitmaps(1024);
+    private boolean loaded;
+
+    // Ids written while a reconciliation scans the table, guarded by writeLock
+    private Set<Long> touchedDuringReconcile;
+
+    public BookAvailabilityServiceImpl(BookRepository bookRepository, MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        this.driftCounter = Counter.builder("books.availability.drift")
+                .description("Books whose in-memory availability differed from the database on reconciliation")
+                .register(meterRegistry);
+        Gauge.builder("books.availability.available", this, BookAvailabilityServiceImpl::countAvailable)
+                .description("Books currently available for rent")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Boolean isAvailable(long bookId) {
+        return bitmaps.get(bookId);
+    }
+
+    @Override
+    public List<BookAvailability> getAvailability(Collection<Long> bookIds) {
+        Set<Long> ids = new LinkedHashSet<>(bookIds);
+        Map<Long, Boolean> availability = new HashMap<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long id : ids) {
+            Boolean available = isAvailable(id);
+            if (available == null) {
+                unknown.add(id);
+            } else {
+                availability.put(id, available);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            bookRepository.findAvailabilityByIdIn(unknown)
+                    .forEach(book -> availability.put(book.getBookId(), book.isAvailable()));
+        }
+        return ids.stream()
+                .filter(availability::containsKey)
+                .map(id -> new BookAvailability(id, availability.get(id)))
+                .toList();
+    }
+
+    @Override
+    public long countAvailable() {
+        return bitmaps.countAvailable();
+    }
+
+    @Override
+    public void update(long bookId, boolean available) {
+        AfterCommit.run(() -> write(List.of(new BookAvailability(bookId, available))));
+    }
+
+    @Override
+    public void updateAll(List<BookAvailability> availabilities) {
+        AfterCommit.run(() -> write(availabilities));
+    }
+
+    @Override
+    public void remove(long bookId) {
+        AfterCommit.run(() -> {
+            writeLock.lock();
+            try {
+                bitmaps.clear(bookId);
+                if (touchedDuringReconcile != null) {
+                    touchedDuringReconcile.add(bookId);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        });
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${books.availability.reconcile-interval:PT5M}",
+            initialDelayString = "${books.availability.reconcile-interval:PT5M}")
+    public void reconcile() {
+        writeLock.lock();
+        try {
+            touchedDuringReconcile = new HashSet<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        Bitmaps fresh = new Bitmaps(bitmaps.capacity());
+        long afterId = 0;
+        List<BookAvailability> batch;
+        try {
+            do {
+                batch = bookRepository.findAvailabilityPageAfter(afterId, Limit.of(RELOAD_BATCH_SIZE));
+                for (BookAvailability book : batch) {
+                    fresh = fresh.withCapacityFor(book.getBookId());
+                    fresh.set(book.getBookId(), book.isAvailable());
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getBookId();
+                }
+            } while (batch.size() == RELOAD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            writeLock.lock();
+            try {
+                touchedDuringReconcile = null;
+            } finally {
+                writeLock.unlock();
+            }
+            throw e;
+        }
+
+        writeLock.lock();
+        try {
+            Bitmaps current = bitmaps;
+            // Writes committed while the table was scanned may be missing from the scan, the live bitmaps have them
+            for (Long id : touchedDuringReconcile) {
+                fresh = fresh.withCapacityFor(id);
+                Boolean available = current.get(id);
+                if (available == null) {
+                    fresh.clear(id);
+                } else {
+                    fresh.set(id, available);
+                }
+            }
+            if (loaded) {
+                long drift = current.countDifferences(fresh);
+                if (drift > 0) {
+                    log.warn("Corrected availability of {} books that drifted from the database", drift);
+                    driftCounter.increment(drift);
+                }
+            }
+            bitmaps = fresh;
+            loaded = true;
+            touchedDuringReconcile = null;
+        } finally {
+            writeLock.unlock();
+        }
+        log.debug("Availability index reconciled, {} books available", countAvailable());
+    }
+
+    private void write(List<BookAvailability> availabilities) {
+        writeLock.lock();
+        try {
+            for (BookAvailability book : availabilities) {
+                bitmaps = bitmaps.withCapacityFor(book.getBookId());
+                bitmaps.set(book.getBookId(), book.isAvailable());
+                if (touchedDuringReconcile != null) {
+                    touchedDuringReconcile.add(book.getBookId());
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static final class Bitmaps {
+        private final AtomicLongArray known;
+        private final AtomicLongArray available;
+
+        Bitmaps(int words) {
+            this.known = new AtomicLongArray(words);
+            this.available = new AtomicLongArray(words);
+        }
+
+        int capacity() {
+            return known.length();
+        }
+
+        Bitmaps withCapacityFor(long id) {
+            int word = (int) (id >>> 6);
+            if (word < known.length()) {
+                return this;
+            }
+            Bitmaps grown = new Bitmaps(Math.max(word + 1, known.length() * 2));
+            for (int i = 0; i < known.length(); i++) {
+                grown.known.set(i, known.get(i));
+                grown.available.set(i, available.get(i));
+            }
+            return grown;
+        }
+
+        Boolean get(long id) {
+            if (id < 0 || (id >>> 6) >= known.length()) {
+                return null;
+            }
+            int word = (int) (id >>> 6);
+            long mask = 1L << id;
+            if ((known.get(word) & mask) == 0) {
+                return null;
+            }
+            return (available.get(word) & mask) != 0;
+        }
+
+        // The available bit is written before the known bit, so a reader never sees a stale value for a new id
+        void set(long id, boolean isAvailable) {
+            int word = (int) (id >>> 6);
+            long mask = 1L << id;
+            if (isAvailable) {
+                available.getAndUpdate(word, bits -> bits | mask);
+            } else {
+                available.getAndUpdate(word, bits -> bits & ~mask);
+            }
+            known.getAndUpdate(word, bits -> bits | mask);
+        }
+
+        void clear(long id) {
+            if (id < 0 || (id >>> 6) >= known.length()) {
+                return;
+            }
+            int word = (int) (id >>> 6);
+            long mask = 1L << id;
+            known.getAndUpdate(word, bits -> bits & ~mask);
+            available.getAndUpdate(word, bits -> bits & ~mask);
+        }
+
+        long countAvailable() {
+            long count = 0;
+            for (int i = 0; i < known.length(); i++) {
+                count += Long.bitCount(known.get(i) & available.get(i));
+            }
+            return count;
+        }
+
+        long countDifferences(Bitmaps other) {
+            long count = 0;
+            for (int i = 0; i < Math.max(known.length(), other.known.length()); i++) {
+                long knownBits = i < known.length() ? known.get(i) : 0;
+                long availableBits = i < known.length() ? available.get(i) : 0;
+                long otherKnownBits = i < other.known.length() ? other.known.get(i) : 0;
+                long otherAvailableBits = i < other.known.length() ? other.available.get(i) : 0;
+                count += Long.bitCount((knownBits ^ otherKnownBits)
+                        | (knownBits & otherKnownBits & (availableBits ^ otherAvailableBits)));
+            }
+            return count;
+        }
+    }
+}
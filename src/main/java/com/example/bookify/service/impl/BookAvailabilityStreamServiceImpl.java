@@ -0,0 +1,199 @@
+package com.example.bookify.service.impl;
+
+import com.example.bookify.dto.BookAvailability;
+import com.example.bookify.event.BookAvailabilityChangedEvent;
+import com.example.bookify.service.BookAvailabilityStreamService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes availability changes to SSE subscribers. Publishing only appends the event to each matching
+ * subscriber's bounded buffer, dropping the oldest event when it is full, and schedules a drain on a virtual
+ * thread; a slow client therefore delays nobody but itself. Idle subscribers hold no thread, only their
+ * emitter and an empty buffer. After drops the client gets an {@code overflow} event and should re-read
+ * the books it follows from {@code GET /api/books/availability}.
+ */
+@Service
+@Slf4j
+public class BookAvailabilityStreamServiceImpl implements BookAvailabilityStreamService, DisposableBean {
+
+    private final Executor drainExecutor;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Counter droppedEvents;
+    private final AtomicLong eventIds = new AtomicLong();
+
+    // Subscribers following every book, and the ones following specific books by book id
+    private final Set<Subscriber> allBooksSubscribers = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribersByBook = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public BookAvailabilityStreamServiceImpl(@Value("${books.availability.stream.buffer-size:32}") int bufferSize,
+                                             @Value("${books.availability.stream.timeout:PT30M}") Duration timeout,
+                                             MeterRegistry meterRegistry) {
+        this(Executors.newVirtualThreadPerTaskExecutor(), bufferSize, timeout, meterRegistry);
+    }
+
+    public BookAvailabilityStreamServiceImpl(Executor drainExecutor, int bufferSize, Duration timeout,
+                                             MeterRegistry meterRegistry) {
+        this.drainExecutor = drainExecutor;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.droppedEvents = Counter.builder("books.availability.stream.dropped")
+                .description("Availability events dropped because a subscriber's buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("books.availability.stream.subscribers", subscribers, Set::size)
+                .description("Open availability streams")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe(Collection<Long> bookIds) {
+        return subscribe(new SseEmitter(timeoutMillis), bookIds);
+    }
+
+    public SseEmitter subscribe(SseEmitter emitter, Collection<Long> bookIds) {
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(bookIds));
+        subscribers.add(subscriber);
+        if (subscriber.bookIds.isEmpty()) {
+            allBooksSubscribers.add(subscriber);
+        } else {
+            subscriber.bookIds.forEach(bookId ->
+                    subscribersByBook.computeIfAbsent(bookId, id -> ConcurrentHashMap.newKeySet()).add(subscriber));
+        }
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        log.debug("Availability stream opened for {} books", bookIds.isEmpty() ? "all" : bookIds.size());
+        return emitter;
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(BookAvailabilityChangedEvent event) {
+        Event streamEvent = new Event(eventIds.incrementAndGet(), new BookAvailability(event.bookId(), event.available()));
+        allBooksSubscribers.forEach(subscriber -> subscriber.offer(streamEvent));
+        Set<Subscriber> bookSubscribers = subscribersByBook.get(event.bookId());
+        if (bookSubscribers != null) {
+            bookSubscribers.forEach(subscriber -> subscriber.offer(streamEvent));
+        }
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        if (drainExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        allBooksSubscribers.remove(subscriber);
+        subscriber.bookIds.forEach(bookId -> subscribersByBook.computeIfPresent(bookId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        }));
+    }
+
+    private record Event(long id, BookAvailability availability) {
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> bookIds;
+        private final ArrayDeque<Event> buffer = new ArrayDeque<>();
+        private int dropped;
+        // Guarded by this; at most one drain per subscriber keeps events in order
+        private boolean draining;
+
+        Subscriber(SseEmitter emitter, Set<Long> bookIds) {
+            this.emitter = emitter;
+            this.bookIds = bookIds;
+        }
+
+        void offer(Event event) {
+            synchronized (this) {
+                if (buffer.size() == bufferSize) {
+                    buffer.pollFirst();
+                    dropped++;
+                    droppedEvents.increment();
+                }
+                buffer.addLast(event);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                drainExecutor.execute(this::drain);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    draining = false;
+                }
+                throw e;
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Event event;
+                int droppedSinceLastSend;
+                synchronized (this) {
+                    event = buffer.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                    droppedSinceLastSend = dropped;
+                    dropped = 0;
+                }
+                try {
+                    if (droppedSinceLastSend > 0) {
+                        emitter.send(SseEmitter.event().name("overflow").data(droppedSinceLastSend));
+                    }
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.id()))
+                            .name("availability")
+                            .data(event.availability()));
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Availability stream closed: {}", e.getMessage());
+                    unsubscribe(this);
+                    emitter.completeWithError(e);
+                    synchronized (this) {
+                        buffer.clear();
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.bookify.service.impl;
+
+import com.example.bookify.dto.BookResponse;
+import com.example.bookify.repository.CatalogVersionRepository;
+import com.example.bookify.service.BookCacheService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of book responses. Entries are evicted after the transaction that changed the book
+ * commits; the TTL only bounds staleness for changes made outside the application or on other nodes.
+ * The catalog version is a counter in the database, so it moves with changes committed on any node. It is
+ * bumped by the writing transaction itself, just before it commits: the new version becomes visible together
+ * with the change, on the same connection, and the row lock is held only while that transaction commits.
+ */
+@Service
+@Slf4j
+public class BookCacheServiceImpl implements BookCacheService {
+
+    private final Cache<Long, BookResponse> booksById;
+
+    private final CatalogVersionRepository catalogVersionRepository;
+
+    public BookCacheServiceImpl(@Value("${books.cache.ttl:PT10M}") Duration ttl,
+                                @Value("${books.cache.max-size:10000}") long maxSize,
+                                MeterRegistry meterRegistry,
+                                CatalogVersionRepository catalogVersionRepository) {
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.booksById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        monitor(meterRegistry, booksById, "books.by-id");
+    }
+
+    @Override
+    public BookResponse getById(Long id, Function<Long, BookResponse> loader) {
+        return booksById.get(id, loader);
+    }
+
+    @Override
+    public void evict(Long id) {
+        bumpCatalogVersionOnCommit();
+        AfterCommit.run(() -> {
+            booksById.invalidate(id);
+            log.debug("Evicted book with id={} from cache", id);
+        });
+    }
+
+    @Override
+    public void evictCatalog() {
+        // Books that did not exist before can't be cached by id, so only the catalog version changes
+        bumpCatalogVersionOnCommit();
+    }
+
+    @Override
+    public String catalogVersion() {
+        return String.valueOf(catalogVersionRepository.findCurrent().orElse(0L));
+    }
+
+    // Once per transaction, however many books it changes. A failed bump fails the write, so the ETag never
+    // stays behind committed data.
+    private void bumpCatalogVersionOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bumpCatalogVersion();
+            return;
+        }
+        boolean registered = TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(CatalogVersionBump.class::isInstance);
+        if (!registered) {
+            TransactionSynchronizationManager.registerSynchronization(new CatalogVersionBump());
+        }
+    }
+
+    private void bumpCatalogVersion() {
+        if (catalogVersionRepository.increment() == 0 && catalogVersionRepository.insertIfAbsent() == 0) {
+            catalogVersionRepository.increment();
+        }
+    }
+
+    private static void monitor(MeterRegistry meterRegistry, Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of cache lookups served without loading")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    private class CatalogVersionBump implements TransactionSynchronization {
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            bumpCatalogVersion();
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.bookify.service.impl;
+
+import com.example.bookify.dto.BookAvailability;
+import com.example.bookify.dto.BookImportError;
+import com.example.bookify.dto.BookImportResponse;
+import com.example.bookify.dto.BookRequest;
+import com.example.bookify.dto.BookResponse;
+import com.example.bookify.dto.mapper.BookMapper;
+import com.example.bookify.exception.InvalidImportFileException;
+import com.example.bookify.model.Book;
+import com.example.bookify.model.Category;
+import com.example.bookify.model.OutboxEventType;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.service.BookAvailabilityService;
+import com.example.bookify.service.BookCacheService;
+import com.example.bookify.service.BookImportService;
+import com.example.bookify.service.BookTextIndexService;
+import com.example.bookify.service.OutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Streams book rows from NDJSON or CSV, validates each one against the {@link BookRequest} constraints and
+ * inserts valid rows in chunks, one transaction per chunk. Inserts are sent as JDBC batches, which works
+ * because book ids come from a pooled sequence instead of IDENTITY. If a chunk fails in the database, its
+ * rows are retried one by one so only the offending rows are reported.
+ */
+@Service
+@Slf4j
+public class BookImportServiceImpl implements BookImportService {
+
+    private static final List<String> REQUIRED_CSV_COLUMNS =
+            List.of("title", "description", "publicationYear", "category", "authorName");
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final BookTextIndexService bookTextIndexService;
+    private final BookCacheService bookCacheService;
+    private final BookAvailabilityService bookAvailabilityService;
+    private final OutboxService outboxService;
+    private final Validator validator;
+    private final ObjectReader bookRequestReader;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public BookImportServiceImpl(BookRepository bookRepository,
+                                 BookMapper bookMapper,
+                                 BookTextIndexService bookTextIndexService,
+                                 BookCacheService bookCacheService,
+                                 BookAvailabilityService bookAvailabilityService,
+                                 OutboxService outboxService,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${books.import.batch-size:500}") int batchSize,
+                                 @Value("${books.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.bookTextIndexService = bookTextIndexService;
+        this.bookCacheService = bookCacheService;
+        this.bookAvailabilityService = bookAvailabilityService;
+        this.outboxService = outboxService;
+        this.validator = validator;
+        this.bookRequestReader = objectMapper.readerFor(BookRequest.class);
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public BookImportResponse importNdjson(InputStream input) throws IOException {
+        log.info("Importing books from NDJSON");
+        ImportRun run = new ImportRun();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    run.add(lineNumber, bookRequestReader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    run.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+        return run.finish();
+    }
+
+    @Override
+    public BookImportResponse importCsv(InputStream input) throws IOException {
+        log.info("Importing books from CSV");
+        ImportRun run = new ImportRun();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            CsvReader csv = new CsvReader(reader);
+            Map<String, Integer> columns = readHeader(csv);
+            List<String> fields;
+            while (true) {
+                try {
+                    fields = csv.next();
+                } catch (IllegalArgumentException e) {
+                    run.reject(csv.recordLine, e.getMessage());
+                    break;
+                }
+                if (fields == null) {
+                    break;
+                }
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                try {
+                    run.add(csv.recordLine, toBookRequest(columns, fields));
+                } catch (IllegalArgumentException e) {
+                    run.reject(csv.recordLine, e.getMessage());
+                }
+            }
+        }
+        return run.finish();
+    }
+
+    private static Map<String, Integer> readHeader(CsvReader csv) throws IOException {
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new InvalidImportFileException("CSV file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).replace("\uFEFF", "").trim(), i);
+        }
+        List<String> missing = REQUIRED_CSV_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidImportFileException("CSV header is missing columns " + missing);
+        }
+        return columns;
+    }
+
+    private static BookRequest toBookRequest(Map<String, Integer> columns, List<String> fields) {
+        if (fields.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " columns but found " + fields.size());
+        }
+        BookRequest request = new BookRequest();
+        request.setTitle(emptyToNull(fields.get(columns.get("title"))));
+        request.setDescription(emptyToNull(fields.get(columns.get("description"))));
+        request.setAuthorName(emptyToNull(fields.get(columns.get("authorName"))));
+
+        String year = fields.get(columns.get("publicationYear")).trim();
+        try {
+            request.setPublicationYear(Integer.parseInt(year));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Publication year '" + year + "' is not a number");
+        }
+
+        String category = fields.get(columns.get("category")).trim();
+        if (!category.isEmpty()) {
+            try {
+                request.setCategory(Category.valueOf(category.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown category '" + category + "'");
+            }
+        }
+
+        Integer availableColumn = columns.get("available");
+        String available = availableColumn == null ? "" : fields.get(availableColumn).trim();
+        if (!available.isEmpty() && !available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("Availability '" + available + "' must be true or false");
+        }
+        request.setAvailable(Boolean.parseBoolean(available));
+        return request;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private int insert(List<PendingRow> rows) {
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            List<Book> books = rows.stream().map(row -> bookMapper.toEntity(row.request())).toList();
+            bookRepository.saveAll(books);
+            entityManager.flush();
+            // The request-scoped persistence context would otherwise keep every imported book managed
+            entityManager.clear();
+            List<BookResponse> responses = books.stream().map(bookMapper::toDto).toList();
+            responses.forEach(response -> outboxService.record(OutboxEventType.BOOK_CREATED, response.getId(), response));
+            bookTextIndexService.indexAll(responses);
+            bookCacheService.evictCatalog();
+            bookAvailabilityService.updateAll(books.stream()
+                    .map(book -> new BookAvailability(book.getId(), book.isAvailable()))
+                    .toList());
+            return books.size();
+        });
+    }
+
+    private record PendingRow(long line, BookRequest request) {
+    }
+
+    private final class ImportRun {
+        private final List<PendingRow> pending = new ArrayList<>(batchSize);
+        private final List<BookImportError> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        void add(long line, BookRequest request) {
+            if (request == null) {
+                reject(line, "Row is empty");
+                return;
+            }
+            var violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(line, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            pending.add(new PendingRow(line, request));
+            if (pending.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String error) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BookImportError(line, error));
+            }
+        }
+
+        BookImportResponse finish() {
+            flush();
+            log.info("Book import finished: {} imported, {} rejected", imported, failed);
+            return new BookImportResponse(imported, failed, errors);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<PendingRow> rows = List.copyOf(pending);
+            pending.clear();
+            try {
+                imported += insert(rows);
+            } catch (RuntimeException e) {
+                log.warn("Inserting chunk of {} books failed, retrying row by row: {}", rows.size(), e.getMessage());
+                for (PendingRow row : rows) {
+                    try {
+                        imported += insert(List.of(row));
+                    } catch (RuntimeException rowException) {
+                        reject(row.line(), NestedExceptionUtils.getMostSpecificCause(rowException).getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    // Minimal RFC 4180 reader: comma separated, double-quoted fields may contain commas, quotes ("") and line breaks
+    private static final class CsvReader {
+        private final BufferedReader reader;
+        private long line;
+        private long recordLine;
+
+        CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        List<String> next() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            recordLine = ++line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    text = reader.readLine();
+                    if (text == null) {
+                        throw new IllegalArgumentException("Quoted field is not closed before the end of the file");
+                    }
+                    line++;
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < text.length() && text.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
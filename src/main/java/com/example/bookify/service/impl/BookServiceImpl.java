@@ -1,27 +1,59 @@
 package com.example.bookify.service.impl;
 
+import com.example.bookify.dto.BookAvailability;
 import com.example.bookify.dto.BookRequest;
 import com.example.bookify.dto.BookResponse;
+import com.example.bookify.dto.BookSearchHit;
+import com.example.bookify.dto.BookSearchRequest;
+import com.example.bookify.dto.CursorPageResponse;
 import com.example.bookify.dto.mapper.BookMapper;
+import com.example.bookify.dto.mapper.CursorMapper;
+import com.example.bookify.event.BookAvailabilityChangedEvent;
+import com.example.bookify.exception.InvalidSearchFilterException;
 import com.example.bookify.exception.ResourceNotFoundException;
 import com.example.bookify.model.Book;
+import com.example.bookify.model.OutboxEventType;
 import com.example.bookify.repository.BookRepository;
+import com.example.bookify.repository.BookSpecifications;
+import com.example.bookify.service.BookAvailabilityService;
+import com.example.bookify.service.BookCacheService;
 import com.example.bookify.service.BookService;
-import lombok.AllArgsConstructor;
+import com.example.bookify.service.BookTextIndexService;
+import com.example.bookify.service.OutboxService;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
-@AllArgsConstructor
+@Observed(name = "bookify.service")
+@RequiredArgsConstructor
 @Transactional
 @Slf4j
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
+    private final CursorMapper cursorMapper;
+    private final BookTextIndexService bookTextIndexService;
+    private final BookCacheService bookCacheService;
+    private final BookAvailabilityService bookAvailabilityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+
+    @Value("${books.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${books.page.max-size:500}")
+    private int maxPageSize;
 
     @Override
     public BookResponse create(BookRequest bookRequest) {
@@ -29,17 +61,23 @@ public class BookServiceImpl implements BookService {
                 bookRequest.getTitle(), bookRequest.getAuthorName());
         Book book = bookRepository.save(bookMapper.toEntity(bookRequest));
         log.debug("Book saved to database with id={}", book.getId());
-        return bookMapper.toDto(book);
+        BookResponse response = bookMapper.toDto(book);
+        outboxService.record(OutboxEventType.BOOK_CREATED, book.getId(), response);
+        bookTextIndexService.index(response);
+        bookCacheService.evict(book.getId());
+        bookAvailabilityService.update(book.getId(), book.isAvailable());
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
     public BookResponse getById(Long id) {
         log.info("Fetching book with id={}", id);
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Book with id " + id + " not found"));
+        BookResponse response = bookCacheService.getById(id, bookId -> bookRepository.findById(bookId)
+                .map(bookMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Book with id " + bookId + " not found")));
         log.debug("Book with id={} retrieved successfully", id);
-        return bookMapper.toDto(book);
+        return response;
     }
 
     @Override
@@ -54,6 +92,58 @@ public class BookServiceImpl implements BookService {
         return responses;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<BookResponse> getPage(String cursor, Integer size) {
+        long afterId = cursorMapper.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        log.info("Fetching page of {} books after id={}", pageSize, afterId);
+        List<BookResponse> rows = bookRepository.findPageAfter(afterId, Limit.of(pageSize + 1));
+        CursorPageResponse<BookResponse> page = cursorMapper.toPage(rows, pageSize, BookResponse::getId);
+        log.debug("Fetched {} books, next cursor={}", page.getContent().size(), page.getNextCursor());
+        return page;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getCatalogVersion() {
+        return bookCacheService.catalogVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<BookResponse> search(BookSearchRequest filter, String cursor, Integer size) {
+        if (filter.getYearFrom() != null && filter.getYearTo() != null && filter.getYearFrom() > filter.getYearTo()) {
+            throw new InvalidSearchFilterException("yearFrom " + filter.getYearFrom() + " is after yearTo " + filter.getYearTo());
+        }
+        long afterId = cursorMapper.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        log.info("Searching page of {} books after id={} with filter {}", pageSize, afterId, filter);
+        List<BookResponse> rows = bookRepository.findBy(BookSpecifications.matching(filter, afterId),
+                        query -> query.sortBy(Sort.by("id")).limit(pageSize + 1).all())
+                .stream()
+                .map(bookMapper::toDto)
+                .toList();
+        CursorPageResponse<BookResponse> page = cursorMapper.toPage(rows, pageSize, BookResponse::getId);
+        log.debug("Found {} books, next cursor={}", page.getContent().size(), page.getNextCursor());
+        return page;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<BookAvailability> getAvailability(List<Long> ids) {
+        log.info("Fetching availability of {} books", ids.size());
+        return bookAvailabilityService.getAvailability(ids);
+    }
+
+    @Override
+    public List<BookSearchHit> searchText(String query, int limit) {
+        log.info("Full-text search for '{}'", query);
+        List<BookSearchHit> hits = bookTextIndexService.search(query, limit);
+        log.debug("Full-text search for '{}' matched {} books", query, hits.size());
+        return hits;
+    }
+
     @Override
     public BookResponse update(Long id, BookRequest updatedBookRequest) {
         log.info("Updating book with id={}", id);
@@ -62,6 +152,7 @@ public class BookServiceImpl implements BookService {
                 .orElseThrow(() -> new ResourceNotFoundException("Book with id " + id + " not found"));
 
         log.debug("Current state of book before update: {}", book);
+        boolean wasAvailable = book.isAvailable();
 
         book.setTitle(updatedBookRequest.getTitle());
         book.setCategory(updatedBookRequest.getCategory());
@@ -74,7 +165,15 @@ public class BookServiceImpl implements BookService {
 
         log.debug("Book with id={} updated successfully", id);
 
-        return bookMapper.toDto(book);
+        BookResponse response = bookMapper.toDto(book);
+        outboxService.record(OutboxEventType.BOOK_UPDATED, id, response);
+        bookTextIndexService.index(response);
+        bookCacheService.evict(id);
+        bookAvailabilityService.update(id, book.isAvailable());
+        if (wasAvailable != book.isAvailable()) {
+            eventPublisher.publishEvent(new BookAvailabilityChangedEvent(id, book.isAvailable()));
+        }
+        return response;
     }
 
     @Override
@@ -83,6 +182,14 @@ public class BookServiceImpl implements BookService {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Book with id " + id + " not found"));
         bookRepository.delete(book);
+        outboxService.record(OutboxEventType.BOOK_DELETED, id, bookMapper.toDto(book));
+        bookTextIndexService.remove(id);
+        bookCacheService.evict(id);
+        bookAvailabilityService.remove(id);
         log.debug("Book with id={} deleted successfully", id);
     }
+
+    private int resolvePageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+    }
 }
@@ -0,0 +1,341 @@
+package com.example.bookify.service.impl;
+
+import com.example.bookify.dto.BookResponse;
+import com.example.bookify.dto.BookSearchHit;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.service.BookTextIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Inverted index over book title, author and description ranked with BM25.
+ * Documents live in dense slots; postings lists hold slot numbers and term frequencies in primitive
+ * int arrays. Updated or removed books only mark their old slot as deleted, and the index is compacted
+ * once deleted slots outnumber live ones.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookTextIndexServiceImpl implements BookTextIndexService {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MAX_LIMIT = 100;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int MIN_DELETED_FOR_COMPACTION = 1024;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "by", "for", "in", "is", "of", "on", "or", "the", "to", "with");
+
+    private final BookRepository bookRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postingsByTerm = new HashMap<>();
+    private final Map<Long, Integer> slotByBookId = new HashMap<>();
+    private final BitSet deletedSlots = new BitSet();
+    private long[] bookIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private String[] titles = new String[1024];
+    private String[] authors = new String[1024];
+    private int slotCount;
+    private int liveCount;
+    private long liveLength;
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Rebuilding full-text index of books");
+        lock.writeLock().lock();
+        try {
+            postingsByTerm.clear();
+            slotByBookId.clear();
+            deletedSlots.clear();
+            Arrays.fill(titles, null);
+            Arrays.fill(authors, null);
+            slotCount = 0;
+            liveCount = 0;
+            liveLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long afterId = 0;
+        List<BookResponse> batch;
+        do {
+            batch = bookRepository.findPageAfter(afterId, Limit.of(REBUILD_BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                batch.forEach(this::replaceDocument);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        log.info("Full-text index rebuilt with {} books and {} terms", liveCount, postingsByTerm.size());
+    }
+
+    @Override
+    public void index(BookResponse book) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                replaceDocument(book);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void indexAll(List<BookResponse> books) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                books.forEach(this::replaceDocument);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeDocument(bookId);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public List<BookSearchHit> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(tokenizeDistinct(query));
+        int maxHits = Math.max(1, Math.min(limit, MAX_LIMIT));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return List.of();
+            }
+            float averageLength = (float) liveLength / liveCount;
+            List<Postings> lists = new ArrayList<>(terms.size());
+            List<Float> idfs = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings postings = postingsByTerm.get(term);
+                if (postings != null) {
+                    int documentFrequency = Math.min(postings.size, liveCount);
+                    lists.add(postings);
+                    idfs.add((float) Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5)));
+                }
+            }
+
+            // Document-at-a-time merge of the sorted postings lists, keeping the best hits in a min-heap
+            PriorityQueue<ScoredSlot> best = new PriorityQueue<>(maxHits + 1, Comparator.comparingDouble(ScoredSlot::score));
+            int[] cursors = new int[lists.size()];
+            while (true) {
+                int slot = Integer.MAX_VALUE;
+                for (int i = 0; i < lists.size(); i++) {
+                    if (cursors[i] < lists.get(i).size) {
+                        slot = Math.min(slot, lists.get(i).slots[cursors[i]]);
+                    }
+                }
+                if (slot == Integer.MAX_VALUE) {
+                    break;
+                }
+
+                float score = 0;
+                float lengthNorm = K1 * (1 - B + B * docLengths[slot] / averageLength);
+                for (int i = 0; i < lists.size(); i++) {
+                    Postings postings = lists.get(i);
+                    if (cursors[i] < postings.size && postings.slots[cursors[i]] == slot) {
+                        int termFrequency = postings.freqs[cursors[i]++];
+                        score += idfs.get(i) * termFrequency * (K1 + 1) / (termFrequency + lengthNorm);
+                    }
+                }
+                if (deletedSlots.get(slot)) {
+                    continue;
+                }
+                best.offer(new ScoredSlot(slot, score));
+                if (best.size() > maxHits) {
+                    best.poll();
+                }
+            }
+
+            List<BookSearchHit> hits = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                ScoredSlot scored = best.poll();
+                hits.add(new BookSearchHit(bookIds[scored.slot()], titles[scored.slot()],
+                        authors[scored.slot()], scored.score()));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void replaceDocument(BookResponse book) {
+        removeDocument(book.getId());
+
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        Consumer<String> counter = term -> termFrequencies.merge(term, 1, Integer::sum);
+        int length = tokenize(book.getTitle(), counter)
+                + tokenize(book.getAuthorName(), counter)
+                + tokenize(book.getDescription(), counter);
+
+        int slot = slotCount++;
+        ensureCapacity(slotCount);
+        bookIds[slot] = book.getId();
+        docLengths[slot] = length;
+        titles[slot] = book.getTitle();
+        authors[slot] = book.getAuthorName();
+        termFrequencies.forEach((term, frequency) ->
+                postingsByTerm.computeIfAbsent(term, t -> new Postings()).add(slot, frequency));
+
+        slotByBookId.put(book.getId(), slot);
+        liveCount++;
+        liveLength += length;
+    }
+
+    private void removeDocument(Long bookId) {
+        Integer slot = slotByBookId.remove(bookId);
+        if (slot != null) {
+            deletedSlots.set(slot);
+            titles[slot] = null;
+            authors[slot] = null;
+            liveCount--;
+            liveLength -= docLengths[slot];
+        }
+    }
+
+    private void compactIfNeeded() {
+        int deletedCount = deletedSlots.cardinality();
+        if (deletedCount < MIN_DELETED_FOR_COMPACTION || deletedCount < liveCount) {
+            return;
+        }
+        int[] newSlots = new int[slotCount];
+        int next = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (deletedSlots.get(slot)) {
+                newSlots[slot] = -1;
+                continue;
+            }
+            newSlots[slot] = next;
+            bookIds[next] = bookIds[slot];
+            docLengths[next] = docLengths[slot];
+            titles[next] = titles[slot];
+            authors[next] = authors[slot];
+            next++;
+        }
+        Arrays.fill(titles, next, slotCount, null);
+        Arrays.fill(authors, next, slotCount, null);
+
+        postingsByTerm.values().removeIf(postings -> postings.remap(newSlots) == 0);
+        slotByBookId.replaceAll((bookId, slot) -> newSlots[slot]);
+        deletedSlots.clear();
+        log.debug("Full-text index compacted from {} to {} slots", slotCount, next);
+        slotCount = next;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= bookIds.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, bookIds.length * 2);
+        bookIds = Arrays.copyOf(bookIds, newLength);
+        docLengths = Arrays.copyOf(docLengths, newLength);
+        titles = Arrays.copyOf(titles, newLength);
+        authors = Arrays.copyOf(authors, newLength);
+    }
+
+    private static Set<String> tokenizeDistinct(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(text, terms::add);
+        return terms;
+    }
+
+    private static int tokenize(String text, Consumer<String> sink) {
+        if (text == null) {
+            return 0;
+        }
+        int count = 0;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String term = text.substring(start, i).toLowerCase(Locale.ROOT);
+                start = -1;
+                if (!STOP_WORDS.contains(term)) {
+                    sink.accept(term);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private record ScoredSlot(int slot, float score) {
+    }
+
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int slot, int frequency) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            slots[size] = slot;
+            freqs[size] = frequency;
+            size++;
+        }
+
+        int remap(int[] newSlots) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int slot = newSlots[slots[i]];
+                if (slot >= 0) {
+                    slots[kept] = slot;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.bookify.service.impl;
+
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.repository.RentRepository;
+import com.example.bookify.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes tables as NDJSON while they are read. Rows are DTO projections, so nothing is kept in the persistence
+ * context and memory use doesn't depend on table size. The read-only transaction keeps the cursor open and
+ * takes no row locks.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private final BookRepository bookRepository;
+    private final RentRepository rentRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public long exportBooks(OutputStream output) throws IOException {
+        log.info("Exporting books");
+        long count = writeNdjson(bookRepository.streamAll(), output);
+        log.info("Exported {} books", count);
+        return count;
+    }
+
+    @Override
+    public long exportRents(OutputStream output) throws IOException {
+        log.info("Exporting rents");
+        long count = writeNdjson(rentRepository.streamAllResponses(), output);
+        log.info("Exported {} rents", count);
+        return count;
+    }
+
+    private long writeNdjson(Stream<?> rows, OutputStream output) throws IOException {
+        long count = 0;
+        try (rows; JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            // Lines are terminated explicitly, so no root separator between values and the servlet stream stays open
+            generator.setRootValueSeparator(null);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                objectMapper.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -1,30 +1,103 @@
 package com.example.bookify.service.impl;
 
+import com.example.bookify.model.User;
+import com.example.bookify.security.TokenClaims;
 import com.example.bookify.service.JwtService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtServiceImpl implements JwtService {
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final String keyId;
+    private final Key signingKey;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+
+    // Keys accepted for verification by key id: the active key plus retired keys that are still being rotated out
+    private final Map<String, Key> verificationKeys;
+    private final JwtParser jwtParser;
+
+    // Verified claims keyed by the SHA-256 digest of the token, each entry lives until the token expires
+    private final Cache<String, TokenClaims> claimsCache;
+
+    private final Counter validTokens;
+    private final Counter invalidTokens;
+    private final Counter expiredTokens;
+    private final Counter rejectedTokens;
+
+    public JwtServiceImpl(@Value("${jwt.secret}") String secretKey,
+                          @Value("${jwt.key-id:primary}") String keyId,
+                          @Value("${jwt.verification-keys:}") String[] retiredKeys,
+                          @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize,
+                          @Value("${jwt.access-token.ttl:PT15M}") Duration accessTokenTtl,
+                          @Value("${jwt.refresh-token.ttl:P14D}") Duration refreshTokenTtl,
+                          MeterRegistry meterRegistry) {
+        this.keyId = keyId;
+        this.signingKey = toKey(secretKey);
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+        this.verificationKeys = toVerificationKeys(keyId, signingKey, retiredKeys);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveVerificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(Expiry.creating((String digest, TokenClaims claims) -> timeToExpiration(claims)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
+        this.validTokens = validationCounter(meterRegistry, "valid");
+        this.invalidTokens = validationCounter(meterRegistry, "invalid");
+        this.expiredTokens = validationCounter(meterRegistry, "expired");
+        this.rejectedTokens = validationCounter(meterRegistry, "rejected");
+    }
+
+    private static Counter validationCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("jwt.validations")
+                .description("Token validations by outcome; rejected tokens failed signature or format checks")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).getSubject();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -32,46 +105,126 @@ public class JwtServiceImpl implements JwtService {
         return claimsResolver.apply(claims);
     }
 
+    public TokenClaims parseToken(String token) {
+        try {
+            return claimsCache.get(digest(token), key -> toTokenClaims(extractAllClaims(token)));
+        } catch (ExpiredJwtException e) {
+            expiredTokens.increment();
+            throw e;
+        } catch (JwtException | IllegalArgumentException e) {
+            rejectedTokens.increment();
+            throw e;
+        }
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
-    public String generateToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails);
+    private TokenClaims toTokenClaims(Claims claims) {
+        List<?> roles = claims.get("roles", List.class);
+        Integer tokenVersion = claims.get("ver", Integer.class);
+        return new TokenClaims(
+                claims.getSubject(),
+                roles == null ? List.of() : roles.stream().map(String::valueOf).toList(),
+                claims.getExpiration(),
+                tokenVersion == null ? 0 : tokenVersion,
+                claims.getId(),
+                claims.get("typ", String.class)
+        );
     }
 
-    private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        extraClaims.put("roles", userDetails.getAuthorities().stream()
+    public String generateToken(UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("roles", userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .toList());
+        return buildToken(claims, userDetails, TokenClaims.ACCESS_TYPE, accessTokenTtl);
+    }
+
+    public String generateRefreshToken(UserDetails userDetails) {
+        return buildToken(new HashMap<>(), userDetails, TokenClaims.REFRESH_TYPE, refreshTokenTtl);
+    }
+
+    private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, String type, Duration ttl) {
+        extraClaims.put("typ", type);
+        if (userDetails instanceof User user) {
+            extraClaims.put("ver", user.getTokenVersion());
+        }
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyId)
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24)) // 24 hours
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttl.toMillis()))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+            final TokenClaims claims = parseToken(token);
+            if (claims.isExpired()) {
+                expiredTokens.increment();
+                return false;
+            }
+            boolean valid = claims.isAccessToken() && claims.getSubject().equals(userDetails.getUsername());
+            (valid ? validTokens : invalidTokens).increment();
+            return valid;
         } catch (ExpiredJwtException e) {
             return false;
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    private Key resolveVerificationKey(String tokenKeyId) {
+        // Tokens issued before key ids were introduced carry no kid and are signed with the active key
+        if (tokenKeyId == null) {
+            return signingKey;
+        }
+        Key key = verificationKeys.get(tokenKeyId);
+        if (key == null) {
+            throw new SignatureException("Token is signed with unknown key id " + tokenKeyId);
+        }
+        return key;
+    }
+
+    private static Map<String, Key> toVerificationKeys(String keyId, Key signingKey, String[] retiredKeys) {
+        Map<String, Key> keys = new HashMap<>();
+        keys.put(keyId, signingKey);
+        for (String retiredKey : retiredKeys) {
+            if (retiredKey.isBlank()) {
+                continue;
+            }
+            String[] parts = retiredKey.trim().split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("jwt.verification-keys entries must have the form <kid>:<base64 secret>");
+            }
+            keys.put(parts[0], toKey(parts[1]));
+        }
+        return Map.copyOf(keys);
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+    private static Key toKey(String base64Secret) {
+        byte[] keyBytes = Decoders.BASE64.decode(base64Secret);
         return Keys.hmacShaKeyFor(keyBytes);
     }
+
+    private static Duration timeToExpiration(TokenClaims claims) {
+        if (claims.getExpiration() == null) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
 }
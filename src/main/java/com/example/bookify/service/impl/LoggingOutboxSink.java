@@ -0,0 +1,23 @@
+package com.example.bookify.service.impl;
+
+import com.example.bookify.model.OutboxEvent;
+import com.example.bookify.service.OutboxSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "outbox.sink.logging.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void deliver(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            log.info("Outbox event id={} {} {}={} {}", event.getId(), event.getEventType(),
+                    event.getAggregateType(), event.getAggregateId(), event.getPayload());
+        }
+    }
+}
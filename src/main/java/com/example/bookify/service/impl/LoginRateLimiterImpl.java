@@ -0,0 +1,119 @@
+package com.example.bookify.service.impl;
+
+import com.example.bookify.exception.TooManyLoginAttemptsException;
+import com.example.bookify.service.LoginRateLimiter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token buckets per email and per client IP, checked before a login attempt reaches the password check.
+ * Each bucket holds {@code capacity} attempts and refills them evenly over {@code period}. Buckets are
+ * updated with compare-and-set and kept in Caffeine caches that drop them once idle for a full period,
+ * by which time they would be full again anyway.
+ */
+@Service
+@Slf4j
+public class LoginRateLimiterImpl implements LoginRateLimiter {
+
+    private final Ticker ticker;
+    private final Limit emailLimit;
+    private final Limit ipLimit;
+
+    @Autowired
+    public LoginRateLimiterImpl(@Value("${auth.rate-limit.email.capacity:5}") int emailCapacity,
+                                @Value("${auth.rate-limit.email.period:PT5M}") Duration emailPeriod,
+                                @Value("${auth.rate-limit.ip.capacity:50}") int ipCapacity,
+                                @Value("${auth.rate-limit.ip.period:PT1M}") Duration ipPeriod,
+                                @Value("${auth.rate-limit.max-keys:100000}") long maxKeys,
+                                MeterRegistry meterRegistry) {
+        this(emailCapacity, emailPeriod, ipCapacity, ipPeriod, maxKeys, meterRegistry, Ticker.systemTicker());
+    }
+
+    public LoginRateLimiterImpl(int emailCapacity, Duration emailPeriod, int ipCapacity, Duration ipPeriod,
+                                long maxKeys, MeterRegistry meterRegistry, Ticker ticker) {
+        this.ticker = ticker;
+        this.emailLimit = new Limit("email", emailCapacity, emailPeriod, maxKeys, meterRegistry, ticker);
+        this.ipLimit = new Limit("ip", ipCapacity, ipPeriod, maxKeys, meterRegistry, ticker);
+    }
+
+    @Override
+    public void acquire(String email, String clientIp) {
+        long now = ticker.read();
+        ipLimit.acquire(clientIp, now);
+        if (email != null) {
+            emailLimit.acquire(email.trim().toLowerCase(Locale.ROOT), now);
+        }
+    }
+
+    private static final class Limit {
+        private final String name;
+        private final int capacity;
+        private final double tokensPerNano;
+        private final Cache<String, TokenBucket> buckets;
+        private final Counter rejectedCounter;
+
+        Limit(String name, int capacity, Duration period, long maxKeys, MeterRegistry meterRegistry, Ticker ticker) {
+            this.name = name;
+            this.capacity = capacity;
+            this.tokensPerNano = (double) capacity / period.toNanos();
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(period)
+                    .ticker(ticker)
+                    .build();
+            this.rejectedCounter = Counter.builder("auth.login.rejected")
+                    .description("Login attempts rejected by rate limiting")
+                    .tag("limit", name)
+                    .register(meterRegistry);
+        }
+
+        void acquire(String key, long now) {
+            TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, now));
+            long waitNanos = bucket.tryAcquire(now, capacity, tokensPerNano);
+            if (waitNanos > 0) {
+                rejectedCounter.increment();
+                log.warn("Rejected login attempt over the {} limit for {}", name, key);
+                long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+                throw new TooManyLoginAttemptsException("Too many login attempts, please retry later", retryAfterSeconds);
+            }
+        }
+    }
+
+    private static final class TokenBucket {
+        private final AtomicReference<State> state;
+
+        TokenBucket(int capacity, long now) {
+            this.state = new AtomicReference<>(new State(capacity, now));
+        }
+
+        // Takes one token and returns 0, or returns the nanoseconds until a token becomes available
+        long tryAcquire(long now, int capacity, double tokensPerNano) {
+            while (true) {
+                State current = state.get();
+                long elapsed = Math.max(0, now - current.refilledAt());
+                double tokens = Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) / tokensPerNano);
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.refilledAt())))) {
+                    return 0;
+                }
+            }
+        }
+    }
+
+    private record State(double tokens, long refilledAt) {
+    }
+}
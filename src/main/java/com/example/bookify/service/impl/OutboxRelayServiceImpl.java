@@ -0,0 +1,167 @@
+package com.example.bookify.service.impl;
+
+import com.example.bookify.exception.OutboxSinkUnavailableException;
+import com.example.bookify.model.OutboxEvent;
+import com.example.bookify.repository.OutboxEventRepository;
+import com.example.bookify.service.OutboxRelayService;
+import com.example.bookify.service.OutboxSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Polls the outbox in id order and hands each batch to every {@link OutboxSink}. A batch is claimed with
+ * FOR UPDATE SKIP LOCKED and marked published in the same transaction, so relays on several nodes share
+ * the work without delivering a batch twice.
+ * When a sink fails, the batch is delivered again one event at a time and every event that still fails is
+ * charged an attempt; after {@code outbox.relay.max-attempts} it is parked so it no longer holds up the
+ * outbox. A sink that is down throws {@link OutboxSinkUnavailableException} instead, which leaves the
+ * remaining events for the next run without charging them. With more than one node, or around a failing event, events of one aggregate may
+ * be delivered out of order.
+ */
+@Service
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelayServiceImpl implements OutboxRelayService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+
+    public OutboxRelayServiceImpl(OutboxEventRepository outboxEventRepository,
+                                  ObjectProvider<OutboxSink> sinks,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${outbox.relay.batch-size:200}") int batchSize,
+                                  @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                                  @Value("${outbox.retention:P7D}") Duration retention,
+                                  MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks.orderedStream().toList();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+        this.deliveredCounter = Counter.builder("outbox.delivered")
+                .description("Outbox events delivered to all sinks")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.failed")
+                .description("Outbox deliveries a sink failed, retried on a later run")
+                .register(meterRegistry);
+        this.parkedCounter = Counter.builder("outbox.parked")
+                .description("Outbox events parked after failing outbox.relay.max-attempts times")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:PT1S}")
+    public int relay() {
+        int relayed = 0;
+        int batch;
+        do {
+            batch = relayBatch();
+            relayed += batch;
+        } while (batch == batchSize);
+        if (relayed > 0) {
+            log.debug("Relayed {} outbox events", relayed);
+        }
+        return relayed;
+    }
+
+    @Override
+    @Scheduled(cron = "${outbox.purge.cron:0 15 * * * *}")
+    public int purgePublished() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(Instant.now().minus(retention)));
+        log.info("Purged {} published outbox events", deleted);
+        return deleted == null ? 0 : deleted;
+    }
+
+    private int relayBatch() {
+        try {
+            Integer relayed = transactionTemplate.execute(status -> {
+                List<OutboxEvent> events = outboxEventRepository.findUnpublishedForUpdate(Limit.of(batchSize));
+                if (events.isEmpty()) {
+                    return 0;
+                }
+                List<OutboxEvent> delivered = deliver(events);
+                if (!delivered.isEmpty()) {
+                    outboxEventRepository.markPublished(delivered.stream().map(OutboxEvent::getId).toList(), Instant.now());
+                }
+                return delivered.size();
+            });
+            int count = relayed == null ? 0 : relayed;
+            deliveredCounter.increment(count);
+            return count;
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            log.warn("Relaying outbox batch failed, it will be retried: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private List<OutboxEvent> deliver(List<OutboxEvent> events) {
+        try {
+            sinks.forEach(sink -> sink.deliver(events));
+            return events;
+        } catch (OutboxSinkUnavailableException e) {
+            failedCounter.increment();
+            log.warn("Outbox sink unavailable, the batch will be retried: {}", e.getMessage());
+            return List.of();
+        } catch (RuntimeException e) {
+            log.warn("Delivering outbox batch failed, retrying its events one at a time: {}", e.getMessage());
+        }
+
+        List<OutboxEvent> delivered = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            List<OutboxEvent> single = List.of(event);
+            try {
+                sinks.forEach(sink -> sink.deliver(single));
+                delivered.add(event);
+            } catch (OutboxSinkUnavailableException e) {
+                // The rest of the batch stays unpublished without being charged
+                failedCounter.increment();
+                log.warn("Outbox sink unavailable, the rest of the batch will be retried: {}", e.getMessage());
+                break;
+            } catch (RuntimeException e) {
+                recordFailure(event, e);
+            }
+        }
+        return delivered;
+    }
+
+    // The claimed event is managed, so its attempt is written when the batch commits
+    private void recordFailure(OutboxEvent event, RuntimeException error) {
+        failedCounter.increment();
+        String message = String.valueOf(error);
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        if (event.getAttempts() >= maxAttempts) {
+            event.setParkedAt(Instant.now());
+            parkedCounter.increment();
+            log.error("Parked outbox event id={} after {} failed attempts: {}", event.getId(), event.getAttempts(), message);
+        } else {
+            log.warn("Outbox event id={} failed attempt {} of {}: {}", event.getId(), event.getAttempts(), maxAttempts, message);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.bookify.service.impl;
+
+import com.example.bookify.model.OutboxEvent;
+import com.example.bookify.model.OutboxEventType;
+import com.example.bookify.repository.OutboxEventRepository;
+import com.example.bookify.service.OutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Writes domain events to the outbox table. Runs only inside the caller's transaction, so an event is
+ * stored if and only if the change it describes commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEventType type, Long aggregateId, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload of " + type + " event can't be serialized", e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(type.getAggregateType())
+                .aggregateId(aggregateId)
+                .eventType(type)
+                .payload(json)
+                .createdAt(Instant.now())
+                .build());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.bookify.service.impl;
+
+import com.example.bookify.model.RentStatus;
+import com.example.bookify.repository.RentRepository;
+import com.example.bookify.service.OverdueRentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moves ACTIVE rents past their due date to OVERDUE. Each batch of ids is flipped by one UPDATE in its
+ * own transaction, so row locks are held only briefly and a failed sweep keeps the batches already done.
+ */
+@Service
+@Slf4j
+public class OverdueRentServiceImpl implements OverdueRentService {
+
+    private final RentRepository rentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Timer sweepTimer;
+    private final Counter markedCounter;
+
+    public OverdueRentServiceImpl(RentRepository rentRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${rents.overdue-sweep.batch-size:500}") int batchSize,
+                                  MeterRegistry meterRegistry) {
+        this.rentRepository = rentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sweepTimer = Timer.builder("rents.overdue.sweep")
+                .description("Duration of overdue rent sweeps")
+                .register(meterRegistry);
+        this.markedCounter = Counter.builder("rents.overdue.marked")
+                .description("Rents moved from ACTIVE to OVERDUE")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Scheduled(cron = "${rents.overdue-sweep.cron:0 5 * * * *}")
+    public int markOverdueRents() {
+        LocalDate today = LocalDate.now();
+        int marked = sweepTimer.record(() -> sweep(today));
+        markedCounter.increment(marked);
+        log.info("Overdue rent sweep marked {} rents as overdue", marked);
+        return marked;
+    }
+
+    private int sweep(LocalDate today) {
+        int marked = 0;
+        List<Long> ids;
+        do {
+            ids = rentRepository.findIdsByStatusAndDueDateBefore(RentStatus.ACTIVE, today, Limit.of(batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Long> batch = ids;
+            // The status is checked again by the UPDATE, so a rent returned since the select is left alone
+            Integer updated = transactionTemplate.execute(status ->
+                    rentRepository.updateStatus(batch, RentStatus.ACTIVE, RentStatus.OVERDUE));
+            marked += updated == null ? 0 : updated;
+            log.debug("Marked {} of {} rents as overdue", updated, batch.size());
+        } while (ids.size() == batchSize);
+        return marked;
+    }
+}
@@ -1,30 +1,46 @@
 package com.example.bookify.service.impl;
 
+import com.example.bookify.dto.CursorPageResponse;
 import com.example.bookify.dto.RentRequest;
 import com.example.bookify.dto.RentResponse;
+import com.example.bookify.dto.mapper.CursorMapper;
 import com.example.bookify.dto.mapper.RentMapper;
+import com.example.bookify.event.BookAvailabilityChangedEvent;
+import com.example.bookify.event.RentEventPayload;
 import com.example.bookify.exception.BookAlreadyReturnedException;
 import com.example.bookify.exception.BookUnavailableException;
 import com.example.bookify.exception.ResourceNotFoundException;
 import com.example.bookify.model.Book;
+import com.example.bookify.model.OutboxEventType;
 import com.example.bookify.model.Rent;
 import com.example.bookify.model.RentStatus;
 import com.example.bookify.model.User;
 import com.example.bookify.repository.BookRepository;
 import com.example.bookify.repository.RentRepository;
+import com.example.bookify.service.BookAvailabilityService;
+import com.example.bookify.service.BookCacheService;
+import com.example.bookify.service.OutboxService;
 import com.example.bookify.service.RentService;
+import com.example.bookify.service.ReservationService;
 import com.example.bookify.service.UserService;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.Period;
 import java.util.List;
 
 @Service
-@AllArgsConstructor
+@Observed(name = "bookify.service")
+@RequiredArgsConstructor
 @Transactional
 @Slf4j
 public class RentServiceImpl implements RentService {
@@ -33,29 +49,53 @@ public class RentServiceImpl implements RentService {
     private final RentMapper rentMapper;
     private final BookRepository bookRepository;
     private final UserService userService;
+    private final BookCacheService bookCacheService;
+    private final CursorMapper cursorMapper;
+    private final MeterRegistry meterRegistry;
+    private final BookAvailabilityService bookAvailabilityService;
+    private final ReservationService reservationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
 
-    @Override
-    public RentResponse create(RentRequest rentRequest) {
-        log.info("Creating rent for bookId={} by current user", rentRequest.getBookId());
+    @Value("${rents.page.default-size:50}")
+    private int defaultPageSize;
 
-        Book book = bookRepository.findById(rentRequest.getBookId())
-                .orElseThrow(() -> new ResourceNotFoundException("Book with id " +
-                        rentRequest.getBookId() + " not found"));
+    @Value("${rents.page.max-size:500}")
+    private int maxPageSize;
 
-        if (!book.isAvailable()) {
-            throw new BookUnavailableException("Book with id " + book.getId() + " is unavailable at the moment");
+    @Value("${rents.loan-period:P14D}")
+    private Period loanPeriod;
+
+    @Override
+    public RentResponse create(RentRequest rentRequest) {
+        Long bookId = rentRequest.getBookId();
+        log.info("Creating rent for bookId={} by current user", bookId);
+
+        // The availability bitmap is node-local and may lag behind returns made on other nodes, so the
+        // database always decides. Check and claim in one conditional UPDATE: of two concurrent requests only one can flip the flag,
+        // the other waits for the row lock and then matches no rows
+        if (bookRepository.claimIfAvailable(bookId) == 0) {
+            if (!bookRepository.existsById(bookId)) {
+                throw new ResourceNotFoundException("Book with id " + bookId + " not found");
+            }
+            meterRegistry.counter("rents.conflicts", "reason", "book_unavailable").increment();
+            throw new BookUnavailableException("Book with id " + bookId + " is unavailable at the moment");
         }
+        bookCacheService.evict(bookId);
+        bookAvailabilityService.update(bookId, false);
+        eventPublisher.publishEvent(new BookAvailabilityChangedEvent(bookId, false));
+
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new ResourceNotFoundException("Book with id " + bookId + " not found"));
 
         User user = userService.getCurrentUser();
         log.debug("Current user for rent: {}", user.getEmail());
 
-        book.setAvailable(false);
-
         Rent rent = rentMapper.toEntity(user, book);
-        log.debug("Rent saved to database with id={}", rent.getId());
-
+        rent.setDueDate(rent.getRentDate().plus(loanPeriod));
         rentRepository.save(rent);
-        bookRepository.save(book);
+        outboxService.record(OutboxEventType.RENT_CREATED, rent.getId(), RentEventPayload.of(rent));
+        log.debug("Rent saved to database with id={}", rent.getId());
         log.debug("Book with id={} rented successfully by userId={}", book.getId(), user.getId());
 
         return rentMapper.toDto(rent);
@@ -75,10 +115,7 @@ public class RentServiceImpl implements RentService {
     @Transactional(readOnly = true)
     public List<RentResponse> getAll() {
         log.info("Fetching all rents");
-        List<RentResponse> responses = rentRepository.findAll()
-                .stream()
-                .map(rentMapper::toDto)
-                .toList();
+        List<RentResponse> responses = rentRepository.findAllResponses();
         log.debug("Total rents fetched: {}", responses.size());
         return responses;
     }
@@ -115,14 +152,24 @@ public class RentServiceImpl implements RentService {
     public List<RentResponse> getAllForUser() {
         User user = userService.getCurrentUser();
         log.info("Fetching all rents for userId={}", user.getId());
-        List<RentResponse> responses = rentRepository.findAllByUser(user)
-                .stream()
-                .map(rentMapper::toDto)
-                .toList();
+        List<RentResponse> responses = rentRepository.findAllResponsesByUserId(user.getId());
         log.debug("User with id={} has {} rents", user.getId(), responses.size());
         return responses;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<RentResponse> getHistoryForUser(String cursor, Integer size) {
+        User user = userService.getCurrentUser();
+        long beforeId = cursor == null || cursor.isBlank() ? Long.MAX_VALUE : cursorMapper.decode(cursor);
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        log.info("Fetching page of {} rents before id={} for userId={}", pageSize, beforeId, user.getId());
+        List<RentResponse> rows = rentRepository.findHistoryPage(user.getId(), beforeId, Limit.of(pageSize + 1));
+        CursorPageResponse<RentResponse> page = cursorMapper.toPage(rows, pageSize, RentResponse::getId);
+        log.debug("User with id={} history page has {} rents", user.getId(), page.getContent().size());
+        return page;
+    }
+
     @Override
     public RentResponse returnBook(Long rentId) {
         log.info("Returning book for rentId={}", rentId);
@@ -136,19 +183,32 @@ public class RentServiceImpl implements RentService {
             throw new AccessDeniedException("User with id " + currentUser.getId() + " is not allowed to return this book");
         }
 
-        if (rent.getStatus() == RentStatus.RETURNED) {
-            throw new BookAlreadyReturnedException("Book with id " + rent.getBook().getId() + " is already returned");
-        }
+        // Returns of a rent are serialized on the book lock; the status is re-read after taking it, so of two
+        // concurrent returns the second one sees the first as committed and cannot release the book again
+        Book book = bookRepository.findByIdForUpdate(rent.getBook().getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Book with id " + rent.getBook().getId() + " not found"));
 
-        Book book = rent.getBook();
-        book.setAvailable(true);
-        bookRepository.save(book);
-        log.debug("Book with id={} set as available", book.getId());
+        if (rentRepository.findStatusById(rentId) == RentStatus.RETURNED) {
+            meterRegistry.counter("rents.conflicts", "reason", "already_returned").increment();
+            throw new BookAlreadyReturnedException("Book with id " + book.getId() + " is already returned");
+        }
 
         rent.setReturnDate(LocalDate.now());
         rent.setStatus(RentStatus.RETURNED);
-
-        rentRepository.save(rent);
+        // Flushed before the hand-off inserts the next ACTIVE rent (IDENTITY ids are inserted immediately),
+        // otherwise that insert reaches the database first and violates uq_rent_open_book
+        rentRepository.saveAndFlush(rent);
+        outboxService.record(OutboxEventType.RENT_RETURNED, rent.getId(), RentEventPayload.of(rent));
+
+        // The next reservation in line gets the book right away, it stays unavailable for everyone else
+        if (!reservationService.handOff(book)) {
+            book.setAvailable(true);
+            bookRepository.save(book);
+            bookCacheService.evict(book.getId());
+            bookAvailabilityService.update(book.getId(), true);
+            eventPublisher.publishEvent(new BookAvailabilityChangedEvent(book.getId(), true));
+            log.debug("Book with id={} set as available", book.getId());
+        }
         log.debug("Book with id={} successfully returned for rentId={}", book.getId(), rentId);
 
         return rentMapper.toDto(rent);
@@ -0,0 +1,244 @@
+package com.example.bookify.service.impl;
+
+import com.example.bookify.dto.ReservationRequest;
+import com.example.bookify.dto.ReservationResponse;
+import com.example.bookify.dto.mapper.RentMapper;
+import com.example.bookify.dto.mapper.ReservationMapper;
+import com.example.bookify.event.BookAvailabilityChangedEvent;
+import com.example.bookify.event.RentEventPayload;
+import com.example.bookify.exception.ResourceNotFoundException;
+import com.example.bookify.model.Book;
+import com.example.bookify.model.OutboxEventType;
+import com.example.bookify.model.Rent;
+import com.example.bookify.model.Reservation;
+import com.example.bookify.model.ReservationStatus;
+import com.example.bookify.model.User;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.repository.RentRepository;
+import com.example.bookify.repository.ReservationRepository;
+import com.example.bookify.service.BookAvailabilityService;
+import com.example.bookify.service.BookCacheService;
+import com.example.bookify.service.OutboxService;
+import com.example.bookify.service.ReservationService;
+import com.example.bookify.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Period;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FIFO queue of users waiting for a book. A returned book goes to the oldest waiting reservation in the
+ * return's transaction, so it never becomes available in between and clients have nothing to retry.
+ * Reserving, cancelling and returning all lock the book row first, which keeps a reservation from slipping in
+ * between a return reading an empty queue and marking the book available, and keeps a cancellation from
+ * overwriting a hand-off that fulfilled the same reservation.
+ * Long-poll waiters are held in memory and completed after the hand-off commits; on another node
+ * they time out with the current state and poll again.
+ */
+@Service
+@Transactional
+@Slf4j
+public class ReservationServiceImpl implements ReservationService {
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationMapper reservationMapper;
+    private final BookRepository bookRepository;
+    private final RentRepository rentRepository;
+    private final RentMapper rentMapper;
+    private final UserService userService;
+    private final BookCacheService bookCacheService;
+    private final BookAvailabilityService bookAvailabilityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final Period loanPeriod;
+    private final Duration longPollTimeout;
+
+    private final Map<Long, Set<DeferredResult<ReservationResponse>>> waiters = new ConcurrentHashMap<>();
+
+    public ReservationServiceImpl(ReservationRepository reservationRepository,
+                                  ReservationMapper reservationMapper,
+                                  BookRepository bookRepository,
+                                  RentRepository rentRepository,
+                                  RentMapper rentMapper,
+                                  UserService userService,
+                                  BookCacheService bookCacheService,
+                                  BookAvailabilityService bookAvailabilityService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  OutboxService outboxService,
+                                  @Value("${rents.loan-period:P14D}") Period loanPeriod,
+                                  @Value("${reservations.long-poll.timeout:PT30S}") Duration longPollTimeout) {
+        this.reservationRepository = reservationRepository;
+        this.reservationMapper = reservationMapper;
+        this.bookRepository = bookRepository;
+        this.rentRepository = rentRepository;
+        this.rentMapper = rentMapper;
+        this.userService = userService;
+        this.bookCacheService = bookCacheService;
+        this.bookAvailabilityService = bookAvailabilityService;
+        this.eventPublisher = eventPublisher;
+        this.outboxService = outboxService;
+        this.loanPeriod = loanPeriod;
+        this.longPollTimeout = longPollTimeout;
+    }
+
+    @Override
+    public ReservationResponse reserve(ReservationRequest reservationRequest) {
+        Long bookId = reservationRequest.getBookId();
+        User user = userService.getCurrentUser();
+        log.info("Reserving bookId={} for userId={}", bookId, user.getId());
+
+        Book book = bookRepository.findByIdForUpdate(bookId)
+                .orElseThrow(() -> new ResourceNotFoundException("Book with id " + bookId + " not found"));
+
+        var existing = reservationRepository.findByBookIdAndUserIdAndStatus(bookId, user.getId(), ReservationStatus.WAITING);
+        if (existing.isPresent()) {
+            log.debug("User with id={} is already waiting for bookId={}", user.getId(), bookId);
+            return toResponse(existing.get());
+        }
+
+        Reservation reservation = Reservation.builder()
+                .book(book)
+                .user(user)
+                .status(ReservationStatus.WAITING)
+                .createdAt(Instant.now())
+                .build();
+
+        // Returned books go straight to the queue, so an available book has nobody waiting for it
+        if (book.isAvailable()) {
+            book.setAvailable(false);
+            bookCacheService.evict(bookId);
+            bookAvailabilityService.update(bookId, false);
+            eventPublisher.publishEvent(new BookAvailabilityChangedEvent(bookId, false));
+            fulfill(reservation, book);
+        }
+        reservationRepository.save(reservation);
+        log.debug("Reservation with id={} saved with status {}", reservation.getId(), reservation.getStatus());
+        return toResponse(reservation);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReservationResponse getById(Long id) {
+        return toResponse(findOwned(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationResponse> getAllForUser() {
+        User user = userService.getCurrentUser();
+        log.info("Fetching reservations for userId={}", user.getId());
+        return reservationRepository.findAllByUserId(user.getId()).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Override
+    public void cancel(Long id) {
+        log.info("Cancelling reservation with id={}", id);
+        Reservation reservation = findOwned(id);
+        Long bookId = reservation.getBook().getId();
+        bookRepository.findByIdForUpdate(bookId)
+                .orElseThrow(() -> new ResourceNotFoundException("Book with id " + bookId + " not found"));
+        // A hand-off may have committed between loading the reservation and taking the lock
+        if (reservationRepository.findStatusById(id) == ReservationStatus.WAITING) {
+            reservation.setStatus(ReservationStatus.CANCELLED);
+            ReservationResponse response = reservationMapper.toDto(reservation, null);
+            AfterCommit.run(() -> complete(id, response));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DeferredResult<ReservationResponse> awaitFulfillment(Long id) {
+        DeferredResult<ReservationResponse> result = new DeferredResult<>(longPollTimeout.toMillis());
+        // Registered before reading the state, so a hand-off committing in between still completes the result
+        waiters.compute(id, (key, results) -> {
+            Set<DeferredResult<ReservationResponse>> set = results == null ? ConcurrentHashMap.newKeySet() : results;
+            set.add(result);
+            return set;
+        });
+        result.onCompletion(() -> removeWaiter(id, result));
+
+        ReservationResponse current;
+        try {
+            current = getById(id);
+        } catch (RuntimeException e) {
+            removeWaiter(id, result);
+            throw e;
+        }
+        if (current.getStatus() == ReservationStatus.WAITING) {
+            result.onTimeout(() -> result.setResult(current));
+        } else {
+            result.setResult(current);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean handOff(Book book) {
+        List<Reservation> next = reservationRepository.findQueue(book.getId(), ReservationStatus.WAITING, Limit.of(1));
+        if (next.isEmpty()) {
+            return false;
+        }
+        Reservation reservation = next.get(0);
+        fulfill(reservation, book);
+        log.debug("Book with id={} handed over to reservation with id={}", book.getId(), reservation.getId());
+        return true;
+    }
+
+    private void fulfill(Reservation reservation, Book book) {
+        Rent rent = rentMapper.toEntity(reservation.getUser(), book);
+        rent.setDueDate(rent.getRentDate().plus(loanPeriod));
+        rentRepository.save(rent);
+        outboxService.record(OutboxEventType.RENT_CREATED, rent.getId(), RentEventPayload.of(rent));
+        reservation.setRent(rent);
+        reservation.setStatus(ReservationStatus.FULFILLED);
+        if (reservation.getId() != null) {
+            ReservationResponse response = reservationMapper.toDto(reservation, null);
+            AfterCommit.run(() -> complete(reservation.getId(), response));
+        }
+    }
+
+    private Reservation findOwned(Long id) {
+        Reservation reservation = reservationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation with id " + id + " not found"));
+        User currentUser = userService.getCurrentUser();
+        if (!reservation.getUser().getId().equals(currentUser.getId())) {
+            throw new AccessDeniedException("User with id " + currentUser.getId() + " is not allowed to access this reservation");
+        }
+        return reservation;
+    }
+
+    private ReservationResponse toResponse(Reservation reservation) {
+        Long position = reservation.getStatus() != ReservationStatus.WAITING ? null
+                : reservationRepository.countAhead(reservation.getBook().getId(), ReservationStatus.WAITING,
+                        reservation.getCreatedAt(), reservation.getId()) + 1;
+        return reservationMapper.toDto(reservation, position);
+    }
+
+    private void complete(Long id, ReservationResponse response) {
+        Set<DeferredResult<ReservationResponse>> results = waiters.remove(id);
+        if (results != null) {
+            results.forEach(result -> result.setResult(response));
+        }
+    }
+
+    private void removeWaiter(Long id, DeferredResult<ReservationResponse> result) {
+        waiters.computeIfPresent(id, (key, results) -> {
+            results.remove(result);
+            return results.isEmpty() ? null : results;
+        });
+    }
+}
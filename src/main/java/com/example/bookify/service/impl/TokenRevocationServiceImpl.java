@@ -0,0 +1,199 @@
+package com.example.bookify.service.impl;
+
+import com.example.bookify.model.RevokedToken;
+import com.example.bookify.model.RevokedTokenType;
+import com.example.bookify.repository.RevokedTokenRepository;
+import com.example.bookify.service.TokenRevocationService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Revoked token ids, persisted in {@code revoked_token}. Access token revocations are also mirrored in memory
+ * so the authentication filter can check them without a query; they expire within the access token TTL, so
+ * the mirror stays small. The in-memory copy is a Bloom filter in front of an exact map: almost every token is
+ * not revoked and is answered by the filter alone, the map only settles the filter's positives.
+ * Each sync fetches only the access tokens revoked since the last one, which picks up revocations made on
+ * other nodes. Refresh tokens are never mirrored: reuse is detected by the insert when one is redeemed.
+ */
+@Service
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    // revoked_at is the start time of the revoking transaction, which may commit after a sync has read past
+    // it, so every sync re-reads this far back
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedRevocations;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    private volatile Instant lastSeen = Instant.EPOCH;
+
+    public TokenRevocationServiceImpl(RevokedTokenRepository revokedTokenRepository,
+                                      @Value("${jwt.revocation.expected-size:10000}") int expectedRevocations,
+                                      MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.snapshot = emptySnapshot(expectedRevocations);
+        Gauge.builder("jwt.revoked.tokens", () -> snapshot.exact().size())
+                .description("Unexpired revoked access tokens held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public void revokeAccessToken(String jti, Instant expiresAt) {
+        revokedTokenRepository.insertIfAbsent(jti, expiresAt, RevokedTokenType.ACCESS.name());
+        AfterCommit.run(() -> {
+            writeLock.lock();
+            try {
+                snapshot.add(jti, expiresAt);
+            } finally {
+                writeLock.unlock();
+            }
+        });
+        log.debug("Revoked access token jti={}", jti);
+    }
+
+    @Override
+    @Transactional
+    public boolean revokeRefreshToken(String jti, Instant expiresAt) {
+        boolean inserted = revokedTokenRepository.insertIfAbsent(jti, expiresAt, RevokedTokenType.REFRESH.name()) == 1;
+        log.debug("Revoked refresh token jti={}, first revocation: {}", jti, inserted);
+        return inserted;
+    }
+
+    @Override
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        return current.bloomFilter().mightContain(jti) && current.exact().containsKey(jti);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:PT10S}", initialDelayString = "${jwt.revocation.sync-interval:PT10S}")
+    public void sync() {
+        Instant now = Instant.now();
+        List<RevokedToken> revoked = revokedTokenRepository.findAccessTokensRevokedAfter(lastSeen.minus(SYNC_OVERLAP), now);
+
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            boolean expired = current.exact().values().stream().anyMatch(expiresAt -> !expiresAt.isAfter(now));
+            if (expired) {
+                // A Bloom filter can't forget, so dropping expired tokens means rebuilding it
+                Snapshot rebuilt = emptySnapshot(Math.max(expectedRevocations, current.exact().size()));
+                current.exact().forEach((jti, expiresAt) -> {
+                    if (expiresAt.isAfter(now)) {
+                        rebuilt.add(jti, expiresAt);
+                    }
+                });
+                current = rebuilt;
+            }
+            for (RevokedToken token : revoked) {
+                current.add(token.getJti(), token.getExpiresAt());
+                if (token.getRevokedAt().isAfter(lastSeen)) {
+                    lastSeen = token.getRevokedAt();
+                }
+            }
+            snapshot = current;
+        } finally {
+            writeLock.unlock();
+        }
+        log.debug("Synced {} revoked access tokens", revoked.size());
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:PT10M}", initialDelayString = "${jwt.revocation.purge-interval:PT10M}")
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(Instant.now());
+        log.debug("Purged {} expired revoked tokens", deleted);
+    }
+
+    private static Snapshot emptySnapshot(int expectedInsertions) {
+        return new Snapshot(new BloomFilter(expectedInsertions, FALSE_POSITIVE_RATE), new ConcurrentHashMap<>());
+    }
+
+    private record Snapshot(BloomFilter bloomFilter, Map<String, Instant> exact) {
+        // Exact map first, so a reader seeing the filter bit always finds the entry
+        void add(String jti, Instant expiresAt) {
+            exact.put(jti, expiresAt);
+            bloomFilter.put(jti);
+        }
+    }
+
+    private static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((bits + 63) / 64));
+            this.bitCount = words.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String key) {
+            long hash1 = hash(key);
+            long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                long mask = 1L << bit;
+                words.getAndUpdate((int) (bit >>> 6), word -> word | mask);
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash1 = hash(key);
+            long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash(String key) {
+            long hash = 1125899906842597L;
+            for (int i = 0; i < key.length(); i++) {
+                hash = 31 * hash + key.charAt(i);
+            }
+            return mix(hash);
+        }
+
+        // MurmurHash3 finalizer
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            value *= 0xc4ceb93e53fe1a85L;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
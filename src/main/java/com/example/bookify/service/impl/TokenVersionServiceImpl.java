@@ -0,0 +1,52 @@
+package com.example.bookify.service.impl;
+
+import com.example.bookify.repository.UserRepository;
+import com.example.bookify.service.TokenVersionService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Service
+@Slf4j
+public class TokenVersionServiceImpl implements TokenVersionService {
+
+    private static final int UNKNOWN_USER = -1;
+
+    // Current token version per email, so stateless requests only reach the database once per TTL
+    private final LoadingCache<String, Integer> tokenVersions;
+
+    public TokenVersionServiceImpl(UserRepository userRepository,
+                                   @Value("${jwt.token-version-cache.ttl:PT1M}") Duration ttl,
+                                   @Value("${jwt.token-version-cache.max-size:10000}") long maxSize,
+                                   MeterRegistry meterRegistry) {
+        this.tokenVersions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(email -> userRepository.findTokenVersionByEmail(email).orElse(UNKNOWN_USER));
+        CaffeineCacheMetrics.monitor(meterRegistry, tokenVersions, "jwt.token-version");
+    }
+
+    @Override
+    public boolean isCurrent(String email, int tokenVersion) {
+        int currentVersion = tokenVersions.get(email);
+        if (currentVersion != tokenVersion) {
+            log.debug("Rejecting token of email={} with version={}, current version={}",
+                    email, tokenVersion, currentVersion);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void evict(String email) {
+        // Evict only once the new version is committed, otherwise a concurrent request could cache the old one
+        AfterCommit.run(() -> tokenVersions.invalidate(email));
+    }
+}
@@ -3,6 +3,7 @@ package com.example.bookify.service.impl;
 import com.example.bookify.exception.ResourceNotFoundException;
 import com.example.bookify.model.User;
 import com.example.bookify.repository.UserRepository;
+import com.example.bookify.service.TokenVersionService;
 import com.example.bookify.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.AllArgsConstructor;
@@ -22,6 +23,7 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final TokenVersionService tokenVersionService;
 
     @Override
     public User create(User user) {
@@ -42,18 +44,22 @@ public class UserServiceImpl implements UserService {
     @Override
     public User update(Long id, User updatedUser) {
         User existing = getById(id);
+        tokenVersionService.evict(existing.getEmail());
         existing.setFirstName(updatedUser.getFirstName());
         existing.setLastName(updatedUser.getLastName());
         existing.setEmail(updatedUser.getEmail());
         existing.setPassword(updatedUser.getPassword());
         existing.setRole(updatedUser.getRole());
         existing.setRents(updatedUser.getRents());
+        existing.setTokenVersion(existing.getTokenVersion() + 1);
         return userRepository.save(existing);
     }
 
     @Override
     public void delete(Long id) {
-        userRepository.delete(getById(id));
+        User user = getById(id);
+        userRepository.delete(user);
+        tokenVersionService.evict(user.getEmail());
     }
 
     @Override
@@ -63,6 +69,18 @@ public class UserServiceImpl implements UserService {
                     new UsernameNotFoundException("User with username " + username + " not found"));
     }
 
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        // Only the hash changes, not the password itself, so issued tokens stay valid
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        log.info("Upgraded password hash of user {}", user.getUsername());
+        if (user instanceof User entity) {
+            entity.setPassword(newPassword);
+            return entity;
+        }
+        return loadUserByUsername(user.getUsername());
+    }
+
     @Override
     public User getCurrentUser() {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
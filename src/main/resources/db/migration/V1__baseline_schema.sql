@@ -0,0 +1,92 @@
+-- Schema as it was created by schema.sql before migrations; existing databases are baselined at this version
+
+CREATE TYPE role AS ENUM ('USER', 'ADMIN');
+
+CREATE TABLE users (
+                        id SERIAL PRIMARY KEY,
+                        first_name VARCHAR(100) NOT NULL,
+                        last_name VARCHAR(100) NOT NULL,
+                        email VARCHAR(255) NOT NULL UNIQUE,
+                        password VARCHAR(255) NOT NULL,
+                        role role NOT NULL,
+                        token_version INT NOT NULL DEFAULT 0
+);
+
+CREATE TYPE category AS ENUM ('FICTION', 'NONFICTION', 'SCIENCE', 'FANTASY', 'HISTORY', 'BIOGRAPHY', 'OTHER');
+
+-- Increment matches the allocationSize of Book.id, Hibernate hands out the 50 ids below each value
+CREATE SEQUENCE book_id_seq INCREMENT BY 50;
+
+CREATE TABLE book (
+                      id INT PRIMARY KEY DEFAULT nextval('book_id_seq'),
+                      title VARCHAR(255) NOT NULL,
+                      description TEXT,
+                      publication_year INT NOT NULL,
+                      category category NOT NULL,
+                      available BOOLEAN NOT NULL,
+                      author_name VARCHAR(255) NOT NULL,
+                      version BIGINT NOT NULL DEFAULT 0
+);
+
+-- Indexes for GET /api/books/search; id is appended so the keyset condition is checked inside the index
+CREATE INDEX idx_book_category_year ON book (category, publication_year, id);
+CREATE INDEX idx_book_year ON book (publication_year, id);
+CREATE INDEX idx_book_author_lower ON book (lower(author_name) text_pattern_ops, id);
+CREATE INDEX idx_book_available ON book (id) WHERE available;
+
+CREATE TYPE rent_status AS ENUM ('ACTIVE', 'RETURNED', 'OVERDUE');
+
+CREATE TABLE rent (
+                      id SERIAL PRIMARY KEY,
+                      user_id INT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+                      book_id INT NOT NULL REFERENCES book(id) ON DELETE CASCADE,
+                      rent_date DATE NOT NULL,
+                      due_date DATE NOT NULL,
+                      return_date DATE,
+                      status rent_status NOT NULL
+);
+
+-- Serves the current user's rent list and the keyset pages of GET /api/rents/my/history
+CREATE INDEX idx_rent_user_id ON rent (user_id, id);
+-- Lets the overdue sweeper find ACTIVE rents past their due date without scanning the table
+CREATE INDEX idx_rent_status_due_date ON rent (status, due_date);
+
+CREATE TYPE reservation_status AS ENUM ('WAITING', 'FULFILLED', 'CANCELLED');
+
+CREATE TABLE reservation (
+                             id SERIAL PRIMARY KEY,
+                             user_id INT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+                             book_id INT NOT NULL REFERENCES book(id) ON DELETE CASCADE,
+                             rent_id INT REFERENCES rent(id) ON DELETE SET NULL,
+                             status reservation_status NOT NULL,
+                             created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Per-book FIFO queue: the next reservation to serve and a reservation's place in line
+CREATE INDEX idx_reservation_book_created ON reservation (book_id, created_at);
+-- A user waits for a book at most once
+CREATE UNIQUE INDEX uq_reservation_waiting ON reservation (book_id, user_id) WHERE status = 'WAITING';
+CREATE INDEX idx_reservation_user_id ON reservation (user_id, id);
+
+-- Ids of revoked access and refresh tokens, kept until the token would have expired anyway
+CREATE TABLE revoked_token (
+                               jti VARCHAR(36) PRIMARY KEY,
+                               expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Transactional outbox: domain events written with the change they describe, relayed to sinks in id order
+CREATE SEQUENCE outbox_event_id_seq INCREMENT BY 50;
+
+CREATE TABLE outbox_event (
+                              id BIGINT PRIMARY KEY DEFAULT nextval('outbox_event_id_seq'),
+                              aggregate_type VARCHAR(32) NOT NULL,
+                              aggregate_id BIGINT NOT NULL,
+                              event_type VARCHAR(32) NOT NULL,
+                              payload TEXT NOT NULL,
+                              created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                              published_at TIMESTAMP WITH TIME ZONE
+);
+
+-- The relay only reads unpublished events, which stay a small part of the table
+CREATE INDEX idx_outbox_event_unpublished ON outbox_event (id) WHERE published_at IS NULL;
+CREATE INDEX idx_outbox_event_published_at ON outbox_event (published_at) WHERE published_at IS NOT NULL;
@@ -0,0 +1,7 @@
+-- Foreign keys are not indexed by PostgreSQL: without these, ON DELETE CASCADE / SET NULL from book and rent
+-- scans the whole rent and reservation tables for every deleted row
+CREATE INDEX idx_rent_book_id ON rent (book_id);
+CREATE INDEX idx_reservation_rent_id ON reservation (rent_id) WHERE rent_id IS NOT NULL;
+
+-- A book is out while its rent is ACTIVE or OVERDUE: at most one such rent per book, whatever the application does
+CREATE UNIQUE INDEX uq_rent_open_book ON rent (book_id) WHERE status IN ('ACTIVE', 'OVERDUE');
@@ -0,0 +1,7 @@
+-- Shared catalog version behind the ETag of GET /api/books, bumped after every committed book change on any node
+CREATE TABLE catalog_version (
+                                 id INT PRIMARY KEY,
+                                 version BIGINT NOT NULL
+);
+
+INSERT INTO catalog_version (id, version) VALUES (1, 0);
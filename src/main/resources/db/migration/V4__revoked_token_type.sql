@@ -0,0 +1,9 @@
+-- Nodes mirror only access token revocations and fetch them incrementally by revoked_at (database time);
+-- refresh tokens stay in the table, where reuse is detected when they are redeemed.
+-- Rows revoked before this migration are kept as access tokens, so they stay mirrored until they expire.
+ALTER TABLE revoked_token ADD COLUMN token_type VARCHAR(16) NOT NULL DEFAULT 'ACCESS';
+ALTER TABLE revoked_token ALTER COLUMN token_type DROP DEFAULT;
+ALTER TABLE revoked_token ADD COLUMN revoked_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX idx_revoked_token_access_revoked_at ON revoked_token (revoked_at) WHERE token_type = 'ACCESS';
+CREATE INDEX idx_revoked_token_expires_at ON revoked_token (expires_at);
@@ -0,0 +1,9 @@
+-- A sink failure is charged to the event that caused it; after outbox.relay.max-attempts the event is parked
+-- so later events keep flowing. Parked events are replayed by clearing parked_at (and attempts).
+ALTER TABLE outbox_event ADD COLUMN attempts INT NOT NULL DEFAULT 0;
+ALTER TABLE outbox_event ADD COLUMN last_error VARCHAR(1000);
+ALTER TABLE outbox_event ADD COLUMN parked_at TIMESTAMP WITH TIME ZONE;
+
+DROP INDEX idx_outbox_event_unpublished;
+CREATE INDEX idx_outbox_event_unpublished ON outbox_event (id) WHERE published_at IS NULL AND parked_at IS NULL;
+CREATE INDEX idx_outbox_event_parked_at ON outbox_event (parked_at) WHERE parked_at IS NOT NULL;
@@ -0,0 +1,30 @@
+-- Demo data for local development, enabled by adding classpath:db/seed to spring.flyway.locations.
+-- Flyway re-runs this script whenever it changes, so every insert skips rows that already exist.
+
+-- Заповнення таблиці users
+INSERT INTO users (first_name, last_name, email, password, role) VALUES
+    ('Ivan', 'Petrenko', 'ivan@example.com', '$2a$10$RBTxB4Cn3MMFJ/d9zVVwP.qyJSwYsE6MX4wL2j/qG1ilsHoP3zG62', 'USER'),
+    ('Admin', 'Adminenko', 'admin@example.com', '$2a$10$RBTxB4Cn3MMFJ/d9zVVwP.qyJSwYsE6MX4wL2j/qG1ilsHoP3zG62', 'ADMIN')
+ON CONFLICT (email) DO NOTHING;
+
+-- Заповнення таблиці book
+INSERT INTO book (title, description, publication_year, category, available, author_name)
+SELECT v.title, v.description, v.publication_year, v.category::category, v.available, v.author_name
+FROM (VALUES
+    ('The Hobbit', 'Fantasy novel by J.R.R. Tolkien', 1937, 'FANTASY', false, 'J.R.R. Tolkien'),
+    ('A Brief History of Time', 'Popular-science book on cosmology', 1988, 'SCIENCE', true, 'Stephen Hawking'),
+    ('1984', 'Dystopian novel by George Orwell', 1949, 'FICTION', true, 'George Orwell')
+) AS v (title, description, publication_year, category, available, author_name)
+WHERE NOT EXISTS (SELECT 1 FROM book b WHERE b.title = v.title);
+
+-- Заповнення таблиці rent
+-- Book ids come from a sequence with increment 50, so rows are referenced by natural key
+INSERT INTO rent (user_id, book_id, rent_date, due_date, return_date, status)
+SELECT u.id, b.id, v.rent_date, v.due_date, v.return_date, v.status::rent_status
+FROM (VALUES
+    ('ivan@example.com', 'The Hobbit', DATE '2025-07-01', DATE '2025-07-15', NULL::date, 'ACTIVE'),
+    ('ivan@example.com', '1984', DATE '2025-06-15', DATE '2025-06-29', DATE '2025-07-01', 'RETURNED')
+) AS v (email, title, rent_date, due_date, return_date, status)
+JOIN users u ON u.email = v.email
+JOIN book b ON b.title = v.title
+WHERE NOT EXISTS (SELECT 1 FROM rent r WHERE r.user_id = u.id AND r.book_id = b.id AND r.rent_date = v.rent_date);
@@ -0,0 +1,155 @@
+package com.example.bookify.controller;
+
+import com.example.bookify.model.Role;
+import com.example.bookify.model.User;
+import com.example.bookify.repository.UserRepository;
+import com.example.bookify.repository.RevokedTokenRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Own database, so that create-drop of this context does not reset sequences under the shared test context
+@SpringBootTest(properties = {
+        "password.hashing.strength=5",
+        "spring.datasource.url=jdbc:h2:mem:bookify-authentication;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class AuthenticationTests {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private RevokedTokenRepository revokedTokenRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+        revokedTokenRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void authenticate_shouldUpgradeWeakerPasswordHash() throws Exception {
+        userRepository.save(User.builder()
+                .firstName("Jane")
+                .lastName("Reed")
+                .email("jane@example.com")
+                .password(new BCryptPasswordEncoder(4).encode("12345678"))
+                .role(Role.USER)
+                .build());
+
+        mockMvc.perform(post("/api/auth/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"jane@example.com\",\"password\":\"12345678\"}"))
+                .andExpect(status().isOk());
+
+        String stored = userRepository.findByEmail("jane@example.com").orElseThrow().getPassword();
+        assertThat(stored).startsWith("$2a$05$");
+        assertThat(passwordEncoder.matches("12345678", stored)).isTrue();
+    }
+
+    @Test
+    void authenticate_shouldKeepHashWithConfiguredStrength() throws Exception {
+        String hash = passwordEncoder.encode("12345678");
+        userRepository.save(User.builder()
+                .firstName("Jane")
+                .lastName("Reed")
+                .email("jane@example.com")
+                .password(hash)
+                .role(Role.USER)
+                .build());
+
+        mockMvc.perform(post("/api/auth/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"jane@example.com\",\"password\":\"12345678\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(userRepository.findByEmail("jane@example.com").orElseThrow().getPassword()).isEqualTo(hash);
+    }
+
+    @Test
+    void authenticate_shouldAnswerTooManyRequestsOverEmailLimit() throws Exception {
+        String body = "{\"email\":\"mallory@example.com\",\"password\":\"guessing1\"}";
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/auth/authenticate").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().is(not(HttpStatus.TOO_MANY_REQUESTS.value())));
+        }
+
+        mockMvc.perform(post("/api/auth/authenticate").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void refresh_shouldRotateRefreshTokenAndRejectReuse() throws Exception {
+        String refreshToken = JsonPath.read(register("sam@example.com"), "$.refreshToken");
+
+        String rotated = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat((String) JsonPath.read(rotated, "$.refreshToken")).isNotEqualTo(refreshToken);
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refreshToken_shouldNotAuthenticateRequests() throws Exception {
+        String refreshToken = JsonPath.read(register("sam@example.com"), "$.refreshToken");
+
+        mockMvc.perform(get("/api/books").header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logout_shouldRevokeAccessAndRefreshTokens() throws Exception {
+        String tokens = register("sam@example.com");
+        String accessToken = JsonPath.read(tokens, "$.token");
+        String refreshToken = JsonPath.read(tokens, "$.refreshToken");
+        mockMvc.perform(get("/api/books").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/books").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String register(String email) throws Exception {
+        return mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Sam\",\"lastName\":\"Lee\",\"email\":\"" + email +
+                                "\",\"password\":\"12345678\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.bookify.controller;
+
+import com.example.bookify.model.Book;
+import com.example.bookify.model.Role;
+import com.example.bookify.model.User;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.repository.OutboxEventRepository;
+import com.example.bookify.repository.UserRepository;
+import com.example.bookify.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookImportTests {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private BookRepository bookRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private JwtService jwtService;
+
+    private String adminToken;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        adminToken = jwtService.generateToken(userRepository.save(User.builder()
+                .firstName("Adam")
+                .lastName("Stone")
+                .email("importer@example.com")
+                .password("password")
+                .role(Role.ADMIN)
+                .build()));
+        userToken = jwtService.generateToken(userRepository.save(User.builder()
+                .firstName("Jane")
+                .lastName("Reed")
+                .email("reader@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importNdjson_shouldInsertValidRowsAndReportInvalidOnes() throws Exception {
+        String body = IntStream.range(0, 1200)
+                .mapToObj(i -> i == 700
+                        ? "{\"title\":\"\",\"description\":\"Desc\",\"publicationYear\":2000,\"category\":\"FICTION\",\"authorName\":\"A\"}"
+                        : "{\"title\":\"Book " + i + "\",\"description\":\"Desc\",\"publicationYear\":2000," +
+                                "\"category\":\"FICTION\",\"authorName\":\"Author\",\"available\":true}")
+                .collect(Collectors.joining("\n"));
+
+        mockMvc.perform(post("/api/books/import")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1199))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(701));
+
+        assertThat(bookRepository.count()).isEqualTo(1199);
+    }
+
+    @Test
+    void importCsv_shouldInsertRows() throws Exception {
+        mockMvc.perform(post("/api/books/import")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                        .contentType("text/csv")
+                        .content("title,description,publicationYear,category,authorName,available\n" +
+                                "Dune,\"Desert planet, spice\",1965,FICTION,Frank Herbert,true\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+
+        assertThat(bookRepository.findAll()).singleElement()
+                .satisfies(book -> assertThat(book.getDescription()).isEqualTo("Desert planet, spice"));
+    }
+
+    @Test
+    void importCsv_shouldMakeImportedBooksVisibleInAvailability() throws Exception {
+        mockMvc.perform(post("/api/books/import")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                        .contentType("text/csv")
+                        .content("title,description,publicationYear,category,authorName,available\n" +
+                                "Dune,Spice,1965,FICTION,Frank Herbert,true\n" +
+                                "Emma,Matchmaking,1815,FICTION,Jane Austen,false\n"))
+                .andExpect(status().isOk());
+        String ids = bookRepository.findAll().stream()
+                .sorted(Comparator.comparing(Book::getTitle))
+                .map(book -> book.getId().toString())
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/api/books/availability")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                        .param("ids", ids + ",999999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].available").value(true))
+                .andExpect(jsonPath("$[1].available").value(false));
+    }
+
+    @Test
+    void import_shouldBeForbiddenForUsers() throws Exception {
+        mockMvc.perform(post("/api/books/import")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                        .contentType("text/csv")
+                        .content("title\n"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.bookify.controller;
+
+import com.example.bookify.model.*;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.repository.RentRepository;
+import com.example.bookify.repository.UserRepository;
+import com.example.bookify.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportTests {
+
+    private static final int BOOK_COUNT = 25;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private BookRepository bookRepository;
+    @Autowired private RentRepository rentRepository;
+    @Autowired private JwtService jwtService;
+
+    private String adminToken;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        User admin = userRepository.save(User.builder()
+                .firstName("Adam")
+                .lastName("Stone")
+                .email("exporter@example.com")
+                .password("password")
+                .role(Role.ADMIN)
+                .build());
+        User user = userRepository.save(User.builder()
+                .firstName("Jane")
+                .lastName("Reed")
+                .email("reader@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+
+        List<Rent> rents = new ArrayList<>();
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            Book book = bookRepository.save(Book.builder()
+                    .title("Book " + i)
+                    .description("Description " + i)
+                    .publicationYear(2000 + i)
+                    .category(Category.FICTION)
+                    .available(i % 2 == 0)
+                    .authorName("Author " + i)
+                    .build());
+            if (!book.isAvailable()) {
+                rents.add(Rent.builder()
+                        .book(book)
+                        .user(user)
+                        .rentDate(LocalDate.now())
+                        .dueDate(LocalDate.now().plusDays(14))
+                        .status(RentStatus.ACTIVE)
+                        .build());
+            }
+        }
+        rentRepository.saveAll(rents);
+
+        adminToken = jwtService.generateToken(admin);
+        userToken = jwtService.generateToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rentRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void exportBooks_shouldStreamEveryBookAsNdjsonInIdOrder() throws Exception {
+        String body = mockMvc.perform(get("/api/export/books").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(BOOK_COUNT);
+        assertThat(lines[0]).startsWith("{\"id\":").contains("\"title\":\"Book 0\"");
+        assertThat(lines[BOOK_COUNT - 1]).startsWith("{\"id\":").contains("\"title\":\"Book " + (BOOK_COUNT - 1) + "\"");
+    }
+
+    @Test
+    void exportRents_shouldStreamEveryRentWithBookAndUser() throws Exception {
+        String body = mockMvc.perform(get("/api/export/rents").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(BOOK_COUNT / 2);
+        assertThat(lines).allSatisfy(line -> assertThat(line)
+                .contains("\"userName\":\"reader@example.com\"")
+                .contains("\"status\":\"ACTIVE\""));
+    }
+
+    @Test
+    void export_shouldBeForbiddenForUsers() throws Exception {
+        mockMvc.perform(get("/api/export/books").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+    }
+}
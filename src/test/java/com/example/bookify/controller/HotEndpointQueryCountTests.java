@@ -0,0 +1,190 @@
+package com.example.bookify.controller;
+
+import com.example.bookify.model.*;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.repository.CatalogVersionRepository;
+import com.example.bookify.repository.RentRepository;
+import com.example.bookify.repository.UserRepository;
+import com.example.bookify.service.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the number of SQL statements issued per request on the hot read endpoints, so that a
+ * re-introduced eager association or N+1 mapping fails the build instead of showing up in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class HotEndpointQueryCountTests {
+
+    private static final int RENT_COUNT = 30;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private UserRepository userRepository;
+    @Autowired private BookRepository bookRepository;
+    @Autowired private RentRepository rentRepository;
+    @Autowired private CatalogVersionRepository catalogVersionRepository;
+    @Autowired private JwtService jwtService;
+    @Autowired private PasswordEncoder passwordEncoder;
+
+    private Statistics statistics;
+    private String userToken;
+    private String adminToken;
+    private Long bookId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User user = userRepository.save(User.builder()
+                .firstName("Jane")
+                .lastName("Reed")
+                .email("jane@example.com")
+                .password(passwordEncoder.encode("12345678"))
+                .role(Role.USER)
+                .build());
+        User admin = userRepository.save(User.builder()
+                .firstName("Adam")
+                .lastName("Stone")
+                .email("admin@example.com")
+                .password(passwordEncoder.encode("12345678"))
+                .role(Role.ADMIN)
+                .build());
+
+        List<Rent> rents = new ArrayList<>();
+        for (int i = 0; i < RENT_COUNT; i++) {
+            Book book = bookRepository.save(Book.builder()
+                    .title("Book " + i)
+                    .description("Description " + i)
+                    .publicationYear(2000 + i)
+                    .category(Category.FICTION)
+                    .available(false)
+                    .authorName("Author " + i)
+                    .build());
+            rents.add(Rent.builder()
+                    .book(book)
+                    .user(user)
+                    .rentDate(LocalDate.now())
+                    .status(RentStatus.ACTIVE)
+                    .build());
+        }
+        rentRepository.saveAll(rents);
+        bookId = rents.get(0).getBook().getId();
+
+        userToken = jwtService.generateToken(user);
+        adminToken = jwtService.generateToken(admin);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rentRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getBooks_shouldLoadPageInSingleQuery() throws Exception {
+        assertStatementsAtMost(get("/api/books").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken), 2);
+    }
+
+    @Test
+    void getBooks_shouldAnswerNotModifiedWithoutQueryingBooks() throws Exception {
+        String etag = mockMvc.perform(get("/api/books").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertStatementsAtMost(get("/api/books")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .header(HttpHeaders.IF_NONE_MATCH, etag), status().isNotModified(), 1);
+    }
+
+    @Test
+    void getBooks_shouldAnswerFullPageAfterChangeCommittedOnAnotherNode() throws Exception {
+        String etag = mockMvc.perform(get("/api/books").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Another node bumps the shared catalog version without touching this node's caches
+        long version = catalogVersionRepository.findCurrent().orElse(0L);
+        catalogVersionRepository.save(new CatalogVersion(CatalogVersion.ID, version + 1));
+
+        mockMvc.perform(get("/api/books")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void getBookById_shouldAnswerNotModifiedFromCache() throws Exception {
+        String path = "/api/books/" + bookId;
+        String etag = mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertStatementsAtMost(get(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .header(HttpHeaders.IF_NONE_MATCH, etag), status().isNotModified(), 1);
+    }
+
+    @Test
+    void getMyRents_shouldNotLoadRentEntities() throws Exception {
+        assertStatementsAtMost(get("/api/rents/my").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken), 3);
+    }
+
+    @Test
+    void getMyRentHistory_shouldNotLoadRentEntities() throws Exception {
+        assertStatementsAtMost(get("/api/rents/my/history").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken), 3);
+    }
+
+    @Test
+    void getAllRents_shouldNotLoadRentEntities() throws Exception {
+        assertStatementsAtMost(get("/api/rents").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken), 2);
+    }
+
+    @Test
+    void authenticate_shouldNotLoadUserRents() throws Exception {
+        assertStatementsAtMost(post("/api/auth/authenticate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"jane@example.com\",\"password\":\"12345678\"}"), 2);
+    }
+
+    private void assertStatementsAtMost(RequestBuilder request, int maxStatements) throws Exception {
+        assertStatementsAtMost(request, status().isOk(), maxStatements);
+    }
+
+    private void assertStatementsAtMost(RequestBuilder request, ResultMatcher expectedStatus, int maxStatements)
+            throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(request).andExpect(expectedStatus);
+
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements per request")
+                .isLessThanOrEqualTo(maxStatements);
+        assertThat(statistics.getCollectionLoadCount()).as("collections loaded").isZero();
+        assertThat(statistics.getEntityLoadCount()).as("entities loaded").isLessThanOrEqualTo(2);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.bookify.controller;
+
+import com.example.bookify.model.Role;
+import com.example.bookify.model.User;
+import com.example.bookify.repository.UserRepository;
+import com.example.bookify.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Own database, so that create-drop of this context does not reset sequences under the shared test context
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bookify-metrics;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsTests {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JwtService jwtService;
+
+    private String userToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        userToken = jwtService.generateToken(userRepository.save(User.builder()
+                .firstName("Jane")
+                .lastName("Reed")
+                .email("reader@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build()));
+        adminToken = jwtService.generateToken(userRepository.save(User.builder()
+                .firstName("Adam")
+                .lastName("Stone")
+                .email("admin@example.com")
+                .password("password")
+                .role(Role.ADMIN)
+                .build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void prometheus_shouldExposeRequestServiceJwtAndPoolMetricsToAdmins() throws Exception {
+        mockMvc.perform(get("/api/books").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("uri=\"/api/books\"")
+                .contains("bookify_service_seconds_bucket{")
+                .contains("method=\"getPage\"")
+                .contains("jwt_validations_total{")
+                .contains("cache_gets_total{")
+                .contains("hikaricp_connections_active{");
+    }
+
+    @Test
+    void prometheus_shouldNotBeReadableWithoutAdminOnApiPort() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void health_shouldBePublic() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void actuator_shouldRequireAdminForOtherEndpoints() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+    }
+}
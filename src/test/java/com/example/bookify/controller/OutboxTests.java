@@ -0,0 +1,115 @@
+package com.example.bookify.controller;
+
+import com.example.bookify.model.OutboxEvent;
+import com.example.bookify.model.OutboxEventType;
+import com.example.bookify.model.Role;
+import com.example.bookify.model.User;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.repository.OutboxEventRepository;
+import com.example.bookify.repository.RentRepository;
+import com.example.bookify.repository.UserRepository;
+import com.example.bookify.service.JwtService;
+import com.example.bookify.service.OutboxRelayService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OutboxTests {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+    @Autowired private BookRepository bookRepository;
+    @Autowired private RentRepository rentRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private OutboxRelayService outboxRelayService;
+    @Autowired private JwtService jwtService;
+
+    private String adminToken;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        adminToken = jwtService.generateToken(userRepository.save(User.builder()
+                .firstName("Adam")
+                .lastName("Stone")
+                .email("outbox-admin@example.com")
+                .password("password")
+                .role(Role.ADMIN)
+                .build()));
+        userToken = jwtService.generateToken(userRepository.save(User.builder()
+                .firstName("Jane")
+                .lastName("Reed")
+                .email("outbox-reader@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAllInBatch();
+        rentRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void changes_shouldBeRecordedInOrderAndRelayedOnce() throws Exception {
+        String book = mockMvc.perform(post("/api/books")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Dune\",\"description\":\"Science fiction novel\",\"publicationYear\":1965," +
+                                "\"category\":\"FICTION\",\"authorName\":\"Frank Herbert\",\"available\":true}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long bookId = objectMapper.readTree(book).get("id").asLong();
+
+        String rent = mockMvc.perform(post("/api/rents")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookId\":" + bookId + "}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long rentId = objectMapper.readTree(rent).get("id").asLong();
+
+        mockMvc.perform(post("/api/rents/" + rentId + "/return").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken))
+                .andExpect(status().isOk());
+
+        List<OutboxEvent> events = outboxEventRepository.findAll(Sort.by("id"));
+        assertThat(events).extracting(OutboxEvent::getEventType)
+                .containsExactly(OutboxEventType.BOOK_CREATED, OutboxEventType.RENT_CREATED, OutboxEventType.RENT_RETURNED);
+        assertThat(objectMapper.readTree(events.get(1).getPayload()).get("bookId").asLong()).isEqualTo(bookId);
+
+        assertThat(outboxRelayService.relay()).isEqualTo(3);
+        assertThat(outboxRelayService.relay()).isZero();
+        assertThat(outboxEventRepository.findAll()).allSatisfy(event -> assertThat(event.getPublishedAt()).isNotNull());
+    }
+
+    @Test
+    void rejectedRent_shouldNotRecordEvent() throws Exception {
+        mockMvc.perform(post("/api/rents")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookId\":999999}"))
+                .andExpect(status().isNotFound());
+
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+}
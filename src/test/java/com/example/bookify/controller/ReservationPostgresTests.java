@@ -0,0 +1,109 @@
+package com.example.bookify.controller;
+
+import com.example.bookify.model.*;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.repository.RentRepository;
+import com.example.bookify.repository.ReservationRepository;
+import com.example.bookify.repository.UserRepository;
+import com.example.bookify.service.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the return hand-off against the Flyway schema on a real PostgreSQL, where the partial unique index
+ * uq_rent_open_book rejects a second open rent of a book. The H2 schema built from the entities has no such
+ * index. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReservationPostgresTests {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+    @Autowired private BookRepository bookRepository;
+    @Autowired private RentRepository rentRepository;
+    @Autowired private ReservationRepository reservationRepository;
+    @Autowired private JwtService jwtService;
+
+    @Test
+    void returnBook_shouldHandBookToWaitingReservation() throws Exception {
+        User holder = saveUser("pg-holder@example.com");
+        User waiting = saveUser("pg-waiting@example.com");
+        Book book = bookRepository.save(Book.builder()
+                .title("Dune")
+                .description("Science fiction novel")
+                .publicationYear(1965)
+                .category(Category.FICTION)
+                .available(false)
+                .authorName("Frank Herbert")
+                .build());
+        Long rentId = rentRepository.save(Rent.builder()
+                .book(book)
+                .user(holder)
+                .rentDate(LocalDate.now())
+                .dueDate(LocalDate.now().plusDays(14))
+                .status(RentStatus.ACTIVE)
+                .build()).getId();
+
+        String body = mockMvc.perform(post("/api/reservations")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(waiting))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookId\":" + book.getId() + "}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("WAITING"))
+                .andReturn().getResponse().getContentAsString();
+        long reservationId = objectMapper.readTree(body).get("id").asLong();
+
+        mockMvc.perform(post("/api/rents/" + rentId + "/return")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(holder)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RETURNED"));
+
+        assertThat(rentRepository.findStatusById(rentId)).isEqualTo(RentStatus.RETURNED);
+        assertThat(reservationRepository.findStatusById(reservationId)).isEqualTo(ReservationStatus.FULFILLED);
+        assertThat(bookRepository.findById(book.getId())).get().satisfies(b -> assertThat(b.isAvailable()).isFalse());
+    }
+
+    private User saveUser(String email) {
+        return userRepository.save(User.builder()
+                .firstName("Jane")
+                .lastName("Reed")
+                .email(email)
+                .password("password")
+                .role(Role.USER)
+                .build());
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.bookify.controller;
+
+import com.example.bookify.model.*;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.repository.OutboxEventRepository;
+import com.example.bookify.repository.RentRepository;
+import com.example.bookify.repository.ReservationRepository;
+import com.example.bookify.repository.UserRepository;
+import com.example.bookify.service.JwtService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReservationTests {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+    @Autowired private BookRepository bookRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private RentRepository rentRepository;
+    @Autowired private ReservationRepository reservationRepository;
+    @Autowired private JwtService jwtService;
+
+    private String holderToken;
+    private String firstToken;
+    private String secondToken;
+    private Long bookId;
+    private Long rentId;
+
+    @BeforeEach
+    void setUp() {
+        User holder = saveUser("holder@example.com");
+        holderToken = jwtService.generateToken(holder);
+        firstToken = jwtService.generateToken(saveUser("first@example.com"));
+        secondToken = jwtService.generateToken(saveUser("second@example.com"));
+
+        Book book = bookRepository.save(Book.builder()
+                .title("Dune")
+                .description("Science fiction novel")
+                .publicationYear(1965)
+                .category(Category.FICTION)
+                .available(false)
+                .authorName("Frank Herbert")
+                .build());
+        bookId = book.getId();
+        rentId = rentRepository.save(Rent.builder()
+                .book(book)
+                .user(holder)
+                .rentDate(LocalDate.now())
+                .dueDate(LocalDate.now().plusDays(14))
+                .status(RentStatus.ACTIVE)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAllInBatch();
+        reservationRepository.deleteAllInBatch();
+        rentRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void returnBook_shouldHandBookToOldestReservationAndCompleteItsLongPoll() throws Exception {
+        long firstId = reserve(firstToken);
+        long secondId = reserve(secondToken);
+
+        mockMvc.perform(get("/api/reservations/" + secondId).header(HttpHeaders.AUTHORIZATION, "Bearer " + secondToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("WAITING"))
+                .andExpect(jsonPath("$.position").value(2));
+
+        MvcResult poll = mockMvc.perform(get("/api/reservations/" + firstId + "/await")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + firstToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(post("/api/rents/" + rentId + "/return").header(HttpHeaders.AUTHORIZATION, "Bearer " + holderToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(asyncDispatch(poll))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("FULFILLED"))
+                .andExpect(jsonPath("$.rentId").isNumber());
+
+        assertThat(bookRepository.findById(bookId)).get().satisfies(book -> assertThat(book.isAvailable()).isFalse());
+        mockMvc.perform(get("/api/reservations/" + secondId).header(HttpHeaders.AUTHORIZATION, "Bearer " + secondToken))
+                .andExpect(jsonPath("$.status").value("WAITING"))
+                .andExpect(jsonPath("$.position").value(1));
+    }
+
+    @Test
+    void availabilityStream_shouldPushReturnedBook() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/books/availability/stream")
+                        .param("ids", String.valueOf(bookId))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + firstToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(post("/api/rents/" + rentId + "/return").header(HttpHeaders.AUTHORIZATION, "Bearer " + holderToken))
+                .andExpect(status().isOk());
+
+        String expected = "{\"bookId\":" + bookId + ",\"available\":true}";
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!stream.getResponse().getContentAsString().contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(stream.getResponse().getContentAsString())
+                .contains("event:availability")
+                .contains(expected);
+    }
+
+    @Test
+    void await_shouldBeForbiddenForOtherUsers() throws Exception {
+        long firstId = reserve(firstToken);
+
+        mockMvc.perform(get("/api/reservations/" + firstId + "/await")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + secondToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private long reserve(String token) throws Exception {
+        String body = mockMvc.perform(post("/api/reservations")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookId\":" + bookId + "}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("WAITING"))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        return json.get("id").asLong();
+    }
+
+    private User saveUser(String email) {
+        return userRepository.save(User.builder()
+                .firstName("Jane")
+                .lastName("Reed")
+                .email(email)
+                .password("password")
+                .role(Role.USER)
+                .build());
+    }
+}
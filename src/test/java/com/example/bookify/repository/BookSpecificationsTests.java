@@ -0,0 +1,99 @@
+package com.example.bookify.repository;
+
+import com.example.bookify.dto.BookSearchRequest;
+import com.example.bookify.model.Book;
+import com.example.bookify.model.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:bookify-search;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookSpecificationsTests {
+
+    @Autowired private BookRepository bookRepository;
+
+    private Book orwell;
+    private Book orwellEssays;
+    private Book boyGeorge;
+    private Book percent;
+    private Book fivehundred;
+    private Book underscore;
+
+    @BeforeEach
+    void setUp() {
+        orwell = save("Nineteen Eighty-Four", "George Orwell", Category.FICTION, 1949, true);
+        orwellEssays = save("Shooting an Elephant", "george orwell", Category.NONFICTION, 1950, false);
+        boyGeorge = save("Take It Like a Man", "Boy George", Category.NONFICTION, 1995, true);
+        percent = save("Fifty Percent", "50% Collective", Category.FICTION, 2001, true);
+        fivehundred = save("Five Hundred", "500 Authors", Category.FICTION, 2002, true);
+        underscore = save("Snake Case", "a_b Press", Category.SCIENCE, 2010, false);
+        save("Camel Case", "axb Press", Category.SCIENCE, 2011, true);
+    }
+
+    @Test
+    void author_shouldMatchCaseInsensitivePrefixOnly() {
+        assertThat(search(filter(null, "  GEORGE ", null, null, null), 0))
+                .containsExactly(orwell, orwellEssays);
+    }
+
+    @Test
+    void author_shouldTreatLikeWildcardsLiterally() {
+        assertThat(search(filter(null, "50%", null, null, null), 0)).containsExactly(percent);
+        assertThat(search(filter(null, "a_b", null, null, null), 0)).containsExactly(underscore);
+    }
+
+    @Test
+    void years_shouldBeInclusiveRange() {
+        assertThat(search(filter(null, null, 1950, 2001, null), 0))
+                .containsExactly(orwellEssays, boyGeorge, percent);
+        assertThat(search(filter(null, null, 2002, null, null), 0)).hasSize(3);
+        assertThat(search(filter(null, null, null, 1949, null), 0)).containsExactly(orwell);
+    }
+
+    @Test
+    void categoryAndAvailability_shouldCombine() {
+        assertThat(search(filter(Category.NONFICTION, null, null, null, true), 0)).containsExactly(boyGeorge);
+        assertThat(search(filter(Category.SCIENCE, null, null, null, false), 0)).containsExactly(underscore);
+    }
+
+    @Test
+    void cursor_shouldContinueAfterLastIdInIdOrder() {
+        BookSearchRequest fiction = filter(Category.FICTION, null, null, null, null);
+
+        List<Book> first = bookRepository.findBy(BookSpecifications.matching(fiction, 0),
+                query -> query.sortBy(Sort.by("id")).limit(2).all());
+        List<Book> next = search(fiction, first.get(first.size() - 1).getId());
+
+        assertThat(first).containsExactly(orwell, percent);
+        assertThat(next).containsExactly(fivehundred);
+    }
+
+    private List<Book> search(BookSearchRequest filter, long afterId) {
+        return bookRepository.findBy(BookSpecifications.matching(filter, afterId),
+                query -> query.sortBy(Sort.by("id")).all());
+    }
+
+    private static BookSearchRequest filter(Category category, String author, Integer yearFrom, Integer yearTo,
+                                            Boolean available) {
+        return new BookSearchRequest(category, author, yearFrom, yearTo, available);
+    }
+
+    private Book save(String title, String author, Category category, int year, boolean available) {
+        return bookRepository.save(Book.builder()
+                .title(title)
+                .description(title)
+                .authorName(author)
+                .category(category)
+                .publicationYear(year)
+                .available(available)
+                .build());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.bookify.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Applies the Flyway migrations to a real PostgreSQL and checks that the hot queries, and the lookups behind
+ * ON DELETE CASCADE, are served by an index. Sequential scans are disabled for the session, so a plan that
+ * still contains one means no usable index exists. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class HotQueryPlanTests {
+
+    private static final String SEARCH = "select b1_0.id,b1_0.author_name,b1_0.available,b1_0.category," +
+            "b1_0.description,b1_0.publication_year,b1_0.title,b1_0.version from book b1_0 where ";
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration", "classpath:db/seed")
+                .load()
+                .migrate();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // GET /api/rents/my and the keyset pages of GET /api/rents/my/history
+            "SELECT r.id, b.title, u.email FROM rent r JOIN book b ON b.id = r.book_id JOIN users u ON u.id = r.user_id " +
+                    "WHERE u.id = 1 ORDER BY r.id",
+            "SELECT r.id, b.title, u.email FROM rent r JOIN book b ON b.id = r.book_id JOIN users u ON u.id = r.user_id " +
+                    "WHERE u.id = 1 AND r.id < 1000 ORDER BY r.id DESC LIMIT 20",
+            // Open rent of a book
+            "SELECT id FROM rent WHERE book_id = 1 AND status = 'ACTIVE'",
+            // Overdue sweep
+            "SELECT id FROM rent WHERE status = 'ACTIVE' AND due_date < DATE '2025-01-01' ORDER BY due_date, id LIMIT 500",
+            // Cascades from deleting a book, a user or a rent
+            "DELETE FROM rent WHERE book_id = 1",
+            "DELETE FROM rent WHERE user_id = 1",
+            "DELETE FROM reservation WHERE book_id = 1",
+            "DELETE FROM reservation WHERE user_id = 1",
+            "UPDATE reservation SET rent_id = NULL WHERE rent_id = 1",
+            // Next reservation in a book's queue
+            "SELECT id FROM reservation WHERE book_id = 1 AND status = 'WAITING' ORDER BY created_at, id LIMIT 1",
+            // Outbox relay
+            "SELECT id FROM outbox_event WHERE published_at IS NULL AND parked_at IS NULL ORDER BY id LIMIT 200 " +
+                    "FOR UPDATE SKIP LOCKED",
+            // Revoked access token sync and purge
+            "SELECT jti FROM revoked_token WHERE token_type = 'ACCESS' AND revoked_at > TIMESTAMPTZ '2025-01-01 00:00:00Z' " +
+                    "AND expires_at > TIMESTAMPTZ '2025-01-01 00:00:00Z'",
+            "DELETE FROM revoked_token WHERE expires_at <= TIMESTAMPTZ '2025-01-01 00:00:00Z'",
+            // GET /api/books/search as generated from BookSpecifications (copied from show-sql)
+            SEARCH + "b1_0.id>0 and b1_0.category='FICTION' and b1_0.publication_year>=1900 " +
+                    "and b1_0.publication_year<=1950 order by b1_0.id fetch first 21 rows only",
+            SEARCH + "b1_0.id>0 and b1_0.publication_year>=1900 order by b1_0.id fetch first 21 rows only",
+            SEARCH + "b1_0.id>0 and lower(b1_0.author_name) like 'george%' escape '\\' " +
+                    "order by b1_0.id fetch first 21 rows only",
+            SEARCH + "b1_0.id>0 and b1_0.available=true order by b1_0.id fetch first 21 rows only"
+    })
+    void hotQuery_shouldNotPlanSequentialScan(String sql) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            StringJoiner plan = new StringJoiner("\n");
+            try (ResultSet rows = statement.executeQuery("EXPLAIN " + sql)) {
+                while (rows.next()) {
+                    plan.add(rows.getString(1));
+                }
+            }
+
+            assertThat(plan.toString()).as("plan of %s", sql).doesNotContain("Seq Scan");
+        }
+    }
+
+    @Test
+    void rent_shouldAllowOnlyOneOpenRentPerBook() throws SQLException {
+        // Rolled back, so the shared container keeps only the migrated data
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            String insert = "INSERT INTO rent (user_id, book_id, rent_date, due_date, status) " +
+                    "SELECT u.id, b.id, CURRENT_DATE, CURRENT_DATE + 14, '%s' " +
+                    "FROM users u, book b WHERE u.email = 'admin@example.com' AND b.title = 'A Brief History of Time'";
+            statement.executeUpdate(insert.formatted("RETURNED"));
+            statement.executeUpdate(insert.formatted("ACTIVE"));
+
+            assertThatThrownBy(() -> statement.executeUpdate(insert.formatted("OVERDUE")))
+                    .isInstanceOf(SQLException.class)
+                    .extracting(e -> ((SQLException) e).getSQLState())
+                    .isEqualTo("23505");
+            connection.rollback();
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
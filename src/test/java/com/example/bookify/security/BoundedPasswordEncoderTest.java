@@ -0,0 +1,63 @@
+package com.example.bookify.security;
+
+import com.example.bookify.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedPasswordEncoderTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void encode_shouldProduceHashThatMatchesOnlyOriginalPassword() {
+        encoder = new BoundedPasswordEncoder(4, 2, 4, meterRegistry);
+
+        String hash = encoder.encode("sweetjane");
+
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(encoder.matches("sweetjane", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get("password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void upgradeEncoding_shouldRequestUpgradeOnlyForWeakerHashes() {
+        encoder = new BoundedPasswordEncoder(6, 1, 1, meterRegistry);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("sweetjane"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("sweetjane"))).isFalse();
+    }
+
+    @Test
+    void encode_shouldRejectWhenPoolAndQueueAreFull() throws InterruptedException {
+        encoder = new BoundedPasswordEncoder(14, 1, 1, meterRegistry);
+        CompletableFuture.runAsync(() -> encoder.encode("first"));
+        CompletableFuture.runAsync(() -> encoder.encode("second"));
+        while (gauge("executor.active") < 1 || gauge("executor.queued") < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> encoder.encode("third"))
+                .isInstanceOf(PasswordHashingUnavailableException.class);
+        assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isEqualTo(1);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("name", "password.hashing").gauge().value();
+    }
+}
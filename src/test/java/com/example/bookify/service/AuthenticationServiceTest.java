@@ -2,11 +2,15 @@ package com.example.bookify.service;
 
 import com.example.bookify.dto.AuthenticationRequest;
 import com.example.bookify.dto.AuthenticationResponse;
+import com.example.bookify.dto.RefreshTokenRequest;
 import com.example.bookify.dto.RegisterRequest;
+import com.example.bookify.exception.InvalidTokenException;
 import com.example.bookify.model.Role;
 import com.example.bookify.model.User;
 import com.example.bookify.repository.UserRepository;
+import com.example.bookify.security.TokenClaims;
 import com.example.bookify.service.impl.AuthenticationServiceImpl;
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +24,8 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Date;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -39,6 +45,10 @@ class AuthenticationServiceTest {
     private JwtService jwtService;
     @Mock
     private AuthenticationManager authenticationManager;
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+    @Mock
+    private TokenVersionService tokenVersionService;
 
     @InjectMocks
     private AuthenticationServiceImpl authenticationService;
@@ -122,4 +132,81 @@ class AuthenticationServiceTest {
         assertThatThrownBy(() -> authenticationService.authenticate(request))
                 .isInstanceOf(NoSuchElementException.class);
     }
+
+    @Test
+    void refresh_shouldRevokeUsedTokenAndIssueNewPair() {
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        when(jwtService.parseToken("refresh-token")).thenReturn(new TokenClaims(
+                "john@example.com", List.of(), expiration, 0, "jti-1", TokenClaims.REFRESH_TYPE));
+        when(tokenVersionService.isCurrent("john@example.com", 0)).thenReturn(true);
+        when(tokenRevocationService.revokeRefreshToken("jti-1", expiration.toInstant())).thenReturn(true);
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(jwtService.generateToken(user)).thenReturn("new-access");
+        when(jwtService.generateRefreshToken(user)).thenReturn("new-refresh");
+
+        AuthenticationResponse response = authenticationService.refresh(new RefreshTokenRequest("refresh-token"));
+
+        assertThat(response.getToken()).isEqualTo("new-access");
+        assertThat(response.getRefreshToken()).isEqualTo("new-refresh");
+    }
+
+    @Test
+    void refresh_shouldRejectReusedToken() {
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        when(jwtService.parseToken("refresh-token")).thenReturn(new TokenClaims(
+                "john@example.com", List.of(), expiration, 0, "jti-1", TokenClaims.REFRESH_TYPE));
+        when(tokenVersionService.isCurrent("john@example.com", 0)).thenReturn(true);
+        when(tokenRevocationService.revokeRefreshToken("jti-1", expiration.toInstant())).thenReturn(false);
+
+        assertThatThrownBy(() -> authenticationService.refresh(new RefreshTokenRequest("refresh-token")))
+                .isInstanceOf(InvalidTokenException.class);
+        verify(jwtService, never()).generateToken(any());
+    }
+
+    @Test
+    void refresh_shouldRejectAccessToken() {
+        when(jwtService.parseToken("access-token")).thenReturn(new TokenClaims(
+                "john@example.com", List.of("USER"), new Date(System.currentTimeMillis() + 60_000), 0, "jti-2",
+                TokenClaims.ACCESS_TYPE));
+
+        assertThatThrownBy(() -> authenticationService.refresh(new RefreshTokenRequest("access-token")))
+                .isInstanceOf(InvalidTokenException.class);
+        verifyNoInteractions(tokenRevocationService);
+    }
+
+    @Test
+    void refresh_shouldRejectTokenOfRevokedTokenVersion() {
+        when(jwtService.parseToken("refresh-token")).thenReturn(new TokenClaims(
+                "john@example.com", List.of(), new Date(System.currentTimeMillis() + 60_000), 0, "jti-1",
+                TokenClaims.REFRESH_TYPE));
+        when(tokenVersionService.isCurrent("john@example.com", 0)).thenReturn(false);
+
+        assertThatThrownBy(() -> authenticationService.refresh(new RefreshTokenRequest("refresh-token")))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void logout_shouldRevokeValidTokensAndIgnoreInvalidOnes() {
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        when(jwtService.parseToken("access-token")).thenReturn(new TokenClaims(
+                "john@example.com", List.of("USER"), expiration, 0, "jti-2", TokenClaims.ACCESS_TYPE));
+        when(jwtService.parseToken("garbage")).thenThrow(new MalformedJwtException("bad token"));
+
+        authenticationService.logout("access-token", "garbage");
+
+        verify(tokenRevocationService).revokeAccessToken("jti-2", expiration.toInstant());
+        verifyNoMoreInteractions(tokenRevocationService);
+    }
+
+    @Test
+    void logout_shouldRevokeRefreshTokenInDatabaseOnly() {
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        when(jwtService.parseToken("refresh-token")).thenReturn(new TokenClaims(
+                "john@example.com", List.of(), expiration, 0, "jti-3", TokenClaims.REFRESH_TYPE));
+
+        authenticationService.logout(null, "refresh-token");
+
+        verify(tokenRevocationService).revokeRefreshToken("jti-3", expiration.toInstant());
+        verifyNoMoreInteractions(tokenRevocationService);
+    }
 }
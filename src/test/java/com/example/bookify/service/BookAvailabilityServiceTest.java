@@ -0,0 +1,104 @@
+package com.example.bookify.service;
+
+import com.example.bookify.dto.BookAvailability;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.service.impl.BookAvailabilityServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookAvailabilityServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookAvailabilityServiceImpl bookAvailabilityService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookAvailabilityService = new BookAvailabilityServiceImpl(bookRepository, meterRegistry);
+    }
+
+    @Test
+    void reconcile_shouldLoadAvailabilityOfAllBooks() {
+        when(bookRepository.findAvailabilityPageAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+                new BookAvailability(1L, true), new BookAvailability(2L, false), new BookAvailability(100_000L, true)));
+
+        bookAvailabilityService.reconcile();
+
+        assertThat(bookAvailabilityService.isAvailable(1L)).isTrue();
+        assertThat(bookAvailabilityService.isAvailable(2L)).isFalse();
+        assertThat(bookAvailabilityService.isAvailable(100_000L)).isTrue();
+        assertThat(bookAvailabilityService.isAvailable(3L)).isNull();
+        assertThat(meterRegistry.get("books.availability.available").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void update_shouldFlipAvailabilityAndRemoveShouldForgetBook() {
+        bookAvailabilityService.update(5L, true);
+        bookAvailabilityService.update(5L, false);
+        bookAvailabilityService.updateAll(List.of(new BookAvailability(6L, true)));
+
+        assertThat(bookAvailabilityService.isAvailable(5L)).isFalse();
+        assertThat(bookAvailabilityService.countAvailable()).isEqualTo(1);
+
+        bookAvailabilityService.remove(6L);
+
+        assertThat(bookAvailabilityService.isAvailable(6L)).isNull();
+        assertThat(bookAvailabilityService.countAvailable()).isZero();
+    }
+
+    @Test
+    void reconcile_shouldKeepWritesMadeWhileScanningAndCountDrift() {
+        bookAvailabilityService.reconcile();
+        bookAvailabilityService.update(1L, true);
+        bookAvailabilityService.update(2L, true);
+        // Book 1 is rented while the scan runs, after its row was read
+        when(bookRepository.findAvailabilityPageAfter(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            bookAvailabilityService.update(1L, false);
+            return List.of(new BookAvailability(1L, true), new BookAvailability(2L, false));
+        });
+
+        bookAvailabilityService.reconcile();
+
+        assertThat(bookAvailabilityService.isAvailable(1L)).isFalse();
+        assertThat(bookAvailabilityService.isAvailable(2L)).isFalse();
+        assertThat(meterRegistry.get("books.availability.drift").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getAvailability_shouldFallBackToDatabaseForUnknownBooks() {
+        bookAvailabilityService.update(1L, true);
+        when(bookRepository.findAvailabilityByIdIn(List.of(2L, 3L)))
+                .thenReturn(List.of(new BookAvailability(2L, false)));
+
+        List<BookAvailability> result = bookAvailabilityService.getAvailability(List.of(1L, 2L, 3L, 1L));
+
+        assertThat(result).containsExactly(new BookAvailability(1L, true), new BookAvailability(2L, false));
+    }
+
+    @Test
+    void getAvailability_shouldNotQueryWhenAllBooksAreKnown() {
+        bookAvailabilityService.update(1L, false);
+
+        assertThat(bookAvailabilityService.getAvailability(List.of(1L)))
+                .containsExactly(new BookAvailability(1L, false));
+        verify(bookRepository, never()).findAvailabilityByIdIn(any());
+    }
+}
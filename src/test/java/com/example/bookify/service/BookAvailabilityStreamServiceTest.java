@@ -0,0 +1,104 @@
+package com.example.bookify.service;
+
+import com.example.bookify.dto.BookAvailability;
+import com.example.bookify.event.BookAvailabilityChangedEvent;
+import com.example.bookify.service.impl.BookAvailabilityStreamServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookAvailabilityStreamServiceTest {
+
+    private final List<Runnable> pendingDrains = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private BookAvailabilityStreamServiceImpl streamService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        streamService = new BookAvailabilityStreamServiceImpl(pendingDrains::add, 3, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void onAvailabilityChanged_shouldOnlyReachSubscribersOfTheBook() {
+        RecordingEmitter followsBook1 = new RecordingEmitter();
+        RecordingEmitter followsBook2 = new RecordingEmitter();
+        RecordingEmitter followsAll = new RecordingEmitter();
+        streamService.subscribe(followsBook1, List.of(1L));
+        streamService.subscribe(followsBook2, List.of(2L));
+        streamService.subscribe(followsAll, List.of());
+
+        streamService.onAvailabilityChanged(new BookAvailabilityChangedEvent(1L, true));
+        drain();
+
+        assertThat(followsBook1.availabilities).containsExactly(new BookAvailability(1L, true));
+        assertThat(followsBook2.availabilities).isEmpty();
+        assertThat(followsAll.availabilities).containsExactly(new BookAvailability(1L, true));
+        assertThat(meterRegistry.get("books.availability.stream.subscribers").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void onAvailabilityChanged_shouldDropOldestEventsOfSlowSubscriberAndReportOverflow() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        streamService.subscribe(emitter, List.of());
+
+        for (long bookId = 1; bookId <= 5; bookId++) {
+            streamService.onAvailabilityChanged(new BookAvailabilityChangedEvent(bookId, false));
+        }
+        assertThat(pendingDrains).hasSize(1);
+        drain();
+
+        assertThat(emitter.overflows).containsExactly(2);
+        assertThat(emitter.availabilities).extracting(BookAvailability::getBookId).containsExactly(3L, 4L, 5L);
+        assertThat(meterRegistry.get("books.availability.stream.dropped").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void onAvailabilityChanged_shouldUnsubscribeClosedClients() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+        streamService.subscribe(emitter, List.of(1L));
+
+        streamService.onAvailabilityChanged(new BookAvailabilityChangedEvent(1L, true));
+        drain();
+
+        assertThat(streamService.getSubscriberCount()).isZero();
+    }
+
+    private void drain() {
+        List<Runnable> drains = List.copyOf(pendingDrains);
+        pendingDrains.clear();
+        drains.forEach(Runnable::run);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<BookAvailability> availabilities = new ArrayList<>();
+        private final List<Integer> overflows = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            Set<DataWithMediaType> parts = builder.build();
+            boolean overflow = parts.stream().anyMatch(part -> String.valueOf(part.getData()).contains("event:overflow"));
+            for (DataWithMediaType part : parts) {
+                if (part.getData() instanceof BookAvailability availability) {
+                    availabilities.add(availability);
+                } else if (overflow && part.getData() instanceof Integer dropped) {
+                    overflows.add(dropped);
+                }
+            }
+        }
+    }
+}
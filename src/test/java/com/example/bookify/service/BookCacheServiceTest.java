@@ -0,0 +1,122 @@
+package com.example.bookify.service;
+
+import com.example.bookify.dto.BookResponse;
+import com.example.bookify.repository.CatalogVersionRepository;
+import com.example.bookify.service.impl.BookCacheServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+public class BookCacheServiceTest {
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogVersionRepository catalogVersionRepository;
+    private BookCacheServiceImpl bookCacheService;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        catalogVersionRepository = mock(CatalogVersionRepository.class);
+        bookCacheService = new BookCacheServiceImpl(Duration.ofMinutes(1), 100, meterRegistry,
+                catalogVersionRepository);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void getById_shouldLoadOnceAndExposeHitRatio() {
+        bookCacheService.getById(1L, this::load);
+        bookCacheService.getById(1L, this::load);
+        bookCacheService.getById(1L, this::load);
+        bookCacheService.getById(2L, this::load);
+
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", "books.by-id").gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "books.by-id").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void evict_shouldDropOnlyThatBook() {
+        bookCacheService.getById(1L, this::load);
+        bookCacheService.getById(2L, this::load);
+
+        bookCacheService.evict(1L);
+
+        bookCacheService.getById(1L, this::load);
+        bookCacheService.getById(2L, this::load);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void evictCatalog_shouldKeepCachedBooksAndBumpCatalogVersion() {
+        when(catalogVersionRepository.increment()).thenReturn(1);
+        bookCacheService.getById(1L, this::load);
+
+        bookCacheService.evictCatalog();
+
+        bookCacheService.getById(1L, this::load);
+        assertThat(loads).hasValue(1);
+        verify(catalogVersionRepository).increment();
+        verify(catalogVersionRepository, never()).insertIfAbsent();
+    }
+
+    @Test
+    void evict_shouldCreateCatalogVersionRowWhenMissing() {
+        when(catalogVersionRepository.increment()).thenReturn(0);
+        when(catalogVersionRepository.insertIfAbsent()).thenReturn(1);
+
+        bookCacheService.evict(1L);
+
+        verify(catalogVersionRepository).insertIfAbsent();
+    }
+
+    @Test
+    void evict_shouldFailWhenCatalogVersionCannotBeBumped() {
+        when(catalogVersionRepository.increment()).thenThrow(new IllegalStateException("database down"));
+
+        assertThatThrownBy(() -> bookCacheService.evict(1L))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void evict_shouldBumpCatalogVersionOnceJustBeforeTransactionCommits() {
+        when(catalogVersionRepository.increment()).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookCacheService.evict(1L);
+            bookCacheService.evict(2L);
+            bookCacheService.evictCatalog();
+            verify(catalogVersionRepository, never()).increment();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(catalogVersionRepository).increment();
+    }
+
+    @Test
+    void catalogVersion_shouldComeFromDatabase() {
+        when(catalogVersionRepository.findCurrent()).thenReturn(Optional.of(42L)).thenReturn(Optional.empty());
+
+        assertThat(bookCacheService.catalogVersion()).isEqualTo("42");
+        assertThat(bookCacheService.catalogVersion()).isEqualTo("0");
+    }
+
+    private BookResponse load(Long id) {
+        loads.incrementAndGet();
+        return BookResponse.builder().id(id).title("Book " + id).build();
+    }
+}
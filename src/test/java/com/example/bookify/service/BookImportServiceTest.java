@@ -0,0 +1,179 @@
+package com.example.bookify.service;
+
+import com.example.bookify.dto.BookImportError;
+import com.example.bookify.dto.BookImportResponse;
+import com.example.bookify.dto.mapper.BookMapper;
+import com.example.bookify.exception.InvalidImportFileException;
+import com.example.bookify.model.Book;
+import com.example.bookify.model.Category;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.service.impl.BookImportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookImportServiceTest {
+    @Mock private BookRepository bookRepository;
+    @Mock private BookTextIndexService bookTextIndexService;
+    @Mock private BookCacheService bookCacheService;
+    @Mock private BookAvailabilityService bookAvailabilityService;
+    @Mock private OutboxService outboxService;
+    @Mock private EntityManager entityManager;
+    @Mock private Session session;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Captor private ArgumentCaptor<List<Book>> batches;
+
+    private ValidatorFactory validatorFactory;
+    private BookImportServiceImpl bookImportService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        lenient().when(entityManager.unwrap(Session.class)).thenReturn(session);
+        bookImportService = new BookImportServiceImpl(bookRepository, new BookMapper(), bookTextIndexService,
+                bookCacheService, bookAvailabilityService, outboxService, validatorFactory.getValidator(),
+                new ObjectMapper(), entityManager, transactionManager, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void importNdjson_shouldInsertValidRowsInBatches() throws IOException {
+        BookImportResponse response = bookImportService.importNdjson(input(
+                json("Dune", "FICTION"),
+                json("Dune Messiah", "FICTION"),
+                "",
+                json("Children of Dune", "FICTION")));
+
+        assertThat(response.getImported()).isEqualTo(3);
+        assertThat(response.getFailed()).isZero();
+        assertThat(response.getErrors()).isEmpty();
+
+        verify(bookRepository, times(2)).saveAll(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        assertThat(batches.getAllValues().get(1).get(0).getTitle()).isEqualTo("Children of Dune");
+        verify(session, times(2)).setJdbcBatchSize(2);
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(bookTextIndexService, times(2)).indexAll(anyList());
+        verify(bookCacheService, times(2)).evictCatalog();
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void importNdjson_shouldReportInvalidRowsWithLineNumbers() throws IOException {
+        BookImportResponse response = bookImportService.importNdjson(input(
+                json("Dune", "FICTION"),
+                "{not json",
+                "{\"title\":\"\",\"description\":\"Desc\",\"publicationYear\":2000,\"category\":\"FICTION\",\"authorName\":\"A\"}",
+                json("Unknown", "POETRY")));
+
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getErrors()).extracting(BookImportError::getLine).containsExactly(2L, 3L, 4L);
+        assertThat(response.getErrors().get(0).getError()).startsWith("Malformed JSON");
+        assertThat(response.getErrors().get(1).getError()).isEqualTo("Title mustn't be blank");
+    }
+
+    @Test
+    void importNdjson_shouldRetryFailedBatchRowByRow() throws IOException {
+        when(bookRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("batch failed"))
+                .thenReturn(List.of())
+                .thenThrow(new DataIntegrityViolationException("title too long"));
+
+        BookImportResponse response = bookImportService.importNdjson(input(
+                json("Dune", "FICTION"),
+                json("Dune Messiah", "FICTION")));
+
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getErrors()).containsExactly(new BookImportError(2, "title too long"));
+        verify(bookRepository, times(3)).saveAll(anyList());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void importNdjson_shouldCapReportedErrors() throws IOException {
+        String[] lines = new String[15];
+        Arrays.fill(lines, "{not json");
+
+        BookImportResponse response = bookImportService.importNdjson(input(lines));
+
+        assertThat(response.getFailed()).isEqualTo(15);
+        assertThat(response.getErrors()).hasSize(10);
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void importCsv_shouldParseQuotedFieldsAndReportBadRows() throws IOException {
+        BookImportResponse response = bookImportService.importCsv(input(
+                "title,authorName,description,publicationYear,category,available",
+                "\"Dune, Part One\",Frank Herbert,\"Desert \"\"spice\"\" planet\",1965,fiction,true",
+                "Broken,Someone,Desc,nineteen,FICTION,false",
+                "\"Multi",
+                "line\",Author,Desc,2000,SCIENCE,",
+                "Short,row"));
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getErrors()).containsExactly(
+                new BookImportError(3, "Publication year 'nineteen' is not a number"),
+                new BookImportError(6, "Expected 6 columns but found 2"));
+
+        verify(bookRepository).saveAll(batches.capture());
+        Book first = batches.getValue().get(0);
+        assertThat(first.getTitle()).isEqualTo("Dune, Part One");
+        assertThat(first.getDescription()).isEqualTo("Desert \"spice\" planet");
+        assertThat(first.getCategory()).isEqualTo(Category.FICTION);
+        assertThat(first.isAvailable()).isTrue();
+        assertThat(batches.getValue().get(1).getTitle()).isEqualTo("Multi\nline");
+        assertThat(batches.getValue().get(1).isAvailable()).isFalse();
+    }
+
+    @Test
+    void importCsv_shouldRejectFileWithoutRequiredColumns() {
+        assertThatThrownBy(() -> bookImportService.importCsv(input("title,description")))
+                .isExactlyInstanceOf(InvalidImportFileException.class)
+                .hasMessageContaining("publicationYear");
+
+        verifyNoInteractions(bookRepository);
+    }
+
+    private static String json(String title, String category) {
+        return "{\"title\":\"" + title + "\",\"description\":\"Science fiction\",\"publicationYear\":1965," +
+                "\"category\":\"" + category + "\",\"authorName\":\"Frank Herbert\",\"available\":true}";
+    }
+
+    private static InputStream input(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
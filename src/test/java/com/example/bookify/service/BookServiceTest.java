@@ -2,19 +2,34 @@ package com.example.bookify.service;
 
 import com.example.bookify.dto.BookRequest;
 import com.example.bookify.dto.BookResponse;
+import com.example.bookify.dto.BookSearchRequest;
+import com.example.bookify.dto.CursorPageResponse;
 import com.example.bookify.dto.mapper.BookMapper;
+import com.example.bookify.dto.mapper.CursorMapper;
+import com.example.bookify.event.BookAvailabilityChangedEvent;
+import com.example.bookify.exception.InvalidCursorException;
+import com.example.bookify.exception.InvalidSearchFilterException;
 import com.example.bookify.exception.ResourceNotFoundException;
 import com.example.bookify.model.Book;
 import com.example.bookify.model.Category;
 import com.example.bookify.repository.BookRepository;
+import com.example.bookify.repository.CatalogVersionRepository;
+import com.example.bookify.service.impl.BookCacheServiceImpl;
 import com.example.bookify.service.impl.BookServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +41,14 @@ import static org.mockito.Mockito.*;
 public class BookServiceTest {
     @Mock private BookRepository bookRepository;
     @Mock private BookMapper bookMapper;
+    @Spy private CursorMapper cursorMapper;
+    @Mock private BookTextIndexService bookTextIndexService;
+    @Mock private BookAvailabilityService bookAvailabilityService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private OutboxService outboxService;
+    @Spy private BookCacheService bookCacheService =
+            new BookCacheServiceImpl(Duration.ofMinutes(1), 100, new SimpleMeterRegistry(),
+                    mock(CatalogVersionRepository.class));
     @InjectMocks private BookServiceImpl bookService;
 
     // Test data
@@ -63,6 +86,9 @@ public class BookServiceTest {
                 .available(book.isAvailable())
                 .authorName(book.getAuthorName())
                 .build();
+
+        ReflectionTestUtils.setField(bookService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(bookService, "maxPageSize", 3);
     }
 
     @Test
@@ -76,6 +102,8 @@ public class BookServiceTest {
         assertThat(result).isEqualTo(bookResponse);
         verify(bookRepository).save(book);
         verify(bookMapper).toDto(book);
+        verify(bookTextIndexService).index(bookResponse);
+        verify(bookCacheService).evict(book.getId());
     }
 
 
@@ -90,6 +118,22 @@ public class BookServiceTest {
         verify(bookMapper).toDto(book);
     }
 
+    @Test
+    void getById_shouldServeRepeatedReadsFromCacheUntilEvicted() {
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(bookMapper.toDto(book)).thenReturn(bookResponse);
+
+        bookService.getById(book.getId());
+        bookService.getById(book.getId());
+        verify(bookRepository, times(1)).findById(book.getId());
+
+        bookService.delete(book.getId());
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> bookService.getById(book.getId()))
+                .isExactlyInstanceOf(ResourceNotFoundException.class);
+    }
+
     @Test
     void getById_shouldThrowIfBookNotFound() {
         when(bookRepository.findById(book.getId())).thenReturn(Optional.empty());
@@ -115,6 +159,62 @@ public class BookServiceTest {
     }
 
 
+    @Test
+    void getPage_shouldReturnFirstPageWithNextCursor() {
+        List<BookResponse> rows = List.of(bookResponseWithId(1L), bookResponseWithId(2L), bookResponseWithId(3L));
+        when(bookRepository.findPageAfter(0L, Limit.of(3))).thenReturn(rows);
+
+        CursorPageResponse<BookResponse> page = bookService.getPage(null, null);
+
+        assertThat(page.getContent()).extracting(BookResponse::getId).containsExactly(1L, 2L);
+        assertThat(page.getNextCursor()).isEqualTo(cursorMapper.encode(2L));
+    }
+
+    @Test
+    void getPage_shouldContinueAfterCursorAndClampSize() {
+        List<BookResponse> rows = List.of(bookResponseWithId(3L), bookResponseWithId(4L));
+        when(bookRepository.findPageAfter(2L, Limit.of(4))).thenReturn(rows);
+
+        CursorPageResponse<BookResponse> page = bookService.getPage(cursorMapper.encode(2L), 1000);
+
+        assertThat(page.getContent()).extracting(BookResponse::getId).containsExactly(3L, 4L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getPage_shouldThrowIfCursorIsInvalid() {
+        assertThatThrownBy(() -> bookService.getPage("not a cursor", null))
+                .isExactlyInstanceOf(InvalidCursorException.class)
+                .hasMessageContaining("Cursor 'not a cursor' is invalid");
+
+        verify(bookRepository, never()).findPageAfter(anyLong(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_shouldMapMatchingBooksToPage() {
+        BookSearchRequest filter = new BookSearchRequest(Category.NONFICTION, "john", 2000, null, true);
+        when(bookRepository.findBy(any(Specification.class), any())).thenReturn(List.of(book));
+        when(bookMapper.toDto(book)).thenReturn(bookResponse);
+
+        CursorPageResponse<BookResponse> page = bookService.search(filter, null, null);
+
+        assertThat(page.getContent()).containsExactly(bookResponse);
+        assertThat(page.getNextCursor()).isNull();
+        verify(bookRepository).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void search_shouldRejectYearFromAfterYearTo() {
+        BookSearchRequest filter = new BookSearchRequest(null, null, 2001, 2000, null);
+
+        assertThatThrownBy(() -> bookService.search(filter, null, null))
+                .isExactlyInstanceOf(InvalidSearchFilterException.class)
+                .hasMessageContaining("yearFrom 2001 is after yearTo 2000");
+
+        verifyNoInteractions(bookRepository);
+    }
+
     @Test
     void update_shouldUpdateAndReturnResponse() {
         BookRequest updatedRequest = new BookRequest(
@@ -153,6 +253,9 @@ public class BookServiceTest {
         verify(bookRepository).save(book);
         verify(bookRepository).findById(book.getId());
         verify(bookMapper).toDto(book);
+        verify(bookTextIndexService).index(updatedResponse);
+        verify(bookCacheService).evict(book.getId());
+        verify(eventPublisher).publishEvent(new BookAvailabilityChangedEvent(book.getId(), false));
     }
 
     @Test
@@ -182,6 +285,8 @@ public class BookServiceTest {
         bookService.delete(book.getId());
 
         verify(bookRepository).delete(book);
+        verify(bookTextIndexService).remove(book.getId());
+        verify(bookCacheService).evict(book.getId());
     }
 
     @Test
@@ -192,7 +297,10 @@ public class BookServiceTest {
                 .isExactlyInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Book with id " + book.getId() + " not found");
 
-        verify(bookRepository, never()).delete(any());
+        verify(bookRepository, never()).delete(any(Book.class));
     }
 
+    private BookResponse bookResponseWithId(Long id) {
+        return BookResponse.builder().id(id).title("Book " + id).build();
+    }
 }
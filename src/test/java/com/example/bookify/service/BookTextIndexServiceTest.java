@@ -0,0 +1,111 @@
+package com.example.bookify.service;
+
+import com.example.bookify.dto.BookResponse;
+import com.example.bookify.dto.BookSearchHit;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.service.impl.BookTextIndexServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookTextIndexServiceTest {
+    @Mock private BookRepository bookRepository;
+    @InjectMocks private BookTextIndexServiceImpl bookTextIndexService;
+
+    @BeforeEach
+    void setUp() {
+        when(bookRepository.findPageAfter(anyLong(), eq(Limit.of(1000)))).thenReturn(List.of(
+                book(1L, "The Hobbit", "Fantasy novel about a hobbit and a dragon", "J.R.R. Tolkien"),
+                book(2L, "The Lord of the Rings", "Epic fantasy novel", "J.R.R. Tolkien"),
+                book(3L, "1984", "Dystopian novel by George Orwell", "George Orwell")
+        )).thenReturn(List.of());
+
+        bookTextIndexService.rebuild();
+    }
+
+    @Test
+    void search_shouldRankDocumentsWithMoreMatchesHigher() {
+        List<BookSearchHit> hits = bookTextIndexService.search("hobbit fantasy", 10);
+
+        assertThat(hits).extracting(BookSearchHit::getId).containsExactly(1L, 2L);
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+        assertThat(hits.get(0).getTitle()).isEqualTo("The Hobbit");
+    }
+
+    @Test
+    void search_shouldMatchAuthorCaseInsensitive() {
+        List<BookSearchHit> hits = bookTextIndexService.search("ORWELL", 10);
+
+        assertThat(hits).extracting(BookSearchHit::getId).containsExactly(3L);
+    }
+
+    @Test
+    void search_shouldRespectLimit() {
+        List<BookSearchHit> hits = bookTextIndexService.search("novel", 2);
+
+        assertThat(hits).hasSize(2);
+    }
+
+    @Test
+    void search_shouldIgnoreStopWordsAndUnknownTerms() {
+        assertThat(bookTextIndexService.search("the", 10)).isEmpty();
+        assertThat(bookTextIndexService.search("unknown", 10)).isEmpty();
+    }
+
+    @Test
+    void index_shouldReplacePreviousVersionOfBook() {
+        bookTextIndexService.index(book(3L, "Animal Farm", "Satirical allegory", "George Orwell"));
+
+        assertThat(bookTextIndexService.search("dystopian", 10)).isEmpty();
+        assertThat(bookTextIndexService.search("allegory", 10))
+                .extracting(BookSearchHit::getTitle).containsExactly("Animal Farm");
+    }
+
+    @Test
+    void indexAll_shouldAddEveryBook() {
+        bookTextIndexService.indexAll(List.of(
+                book(4L, "Dune", "Science fiction on a desert planet", "Frank Herbert"),
+                book(5L, "Dune Messiah", "Sequel set on a desert planet", "Frank Herbert")));
+
+        assertThat(bookTextIndexService.search("desert", 10)).extracting(BookSearchHit::getId)
+                .containsExactlyInAnyOrder(4L, 5L);
+    }
+
+    @Test
+    void remove_shouldHideBookFromResults() {
+        bookTextIndexService.remove(1L);
+
+        assertThat(bookTextIndexService.search("hobbit", 10)).isEmpty();
+        assertThat(bookTextIndexService.search("fantasy", 10)).extracting(BookSearchHit::getId).containsExactly(2L);
+    }
+
+    @Test
+    void index_shouldKeepResultsCorrectAfterCompaction() {
+        for (int i = 0; i < 1500; i++) {
+            bookTextIndexService.index(book(100L + i, "Filler " + i, "Temporary book", "Nobody"));
+        }
+        for (int i = 0; i < 1500; i++) {
+            bookTextIndexService.remove(100L + i);
+        }
+
+        assertThat(bookTextIndexService.search("temporary", 10)).isEmpty();
+        assertThat(bookTextIndexService.search("hobbit fantasy", 10))
+                .extracting(BookSearchHit::getId).containsExactly(1L, 2L);
+    }
+
+    private static BookResponse book(Long id, String title, String description, String author) {
+        return BookResponse.builder().id(id).title(title).description(description).authorName(author).build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.bookify.service;
+
+import com.example.bookify.dto.BookResponse;
+import com.example.bookify.dto.RentResponse;
+import com.example.bookify.model.Category;
+import com.example.bookify.model.RentStatus;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.repository.RentRepository;
+import com.example.bookify.service.impl.ExportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ExportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private RentRepository rentRepository;
+
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportServiceImpl(bookRepository, rentRepository, objectMapper);
+    }
+
+    @Test
+    void exportBooks_shouldWriteOneJsonObjectPerLineAndCloseStream() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(bookRepository.streamAll()).thenReturn(Stream.of(
+                new BookResponse(1L, "Dune", "Desc", 1965, Category.FICTION, true, "Frank Herbert", 0),
+                new BookResponse(2L, "Emma", "Desc", 1815, Category.FICTION, false, "Jane Austen", 3)
+        ).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = exportService.exportBooks(output);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(closed).isTrue();
+        assertThat(output.toString(StandardCharsets.UTF_8).split("\n"))
+                .containsExactly(
+                        "{\"id\":1,\"title\":\"Dune\",\"description\":\"Desc\",\"publicationYear\":1965," +
+                                "\"category\":\"FICTION\",\"available\":true,\"authorName\":\"Frank Herbert\",\"version\":0}",
+                        "{\"id\":2,\"title\":\"Emma\",\"description\":\"Desc\",\"publicationYear\":1815," +
+                                "\"category\":\"FICTION\",\"available\":false,\"authorName\":\"Jane Austen\",\"version\":3}");
+    }
+
+    @Test
+    void exportRents_shouldWriteDatesAsIsoStrings() throws IOException {
+        when(rentRepository.streamAllResponses()).thenReturn(Stream.of(
+                new RentResponse(5L, "Dune", "jane@example.com", LocalDate.of(2025, 8, 1),
+                        LocalDate.of(2025, 8, 15), null, RentStatus.ACTIVE)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = exportService.exportRents(output);
+
+        assertThat(count).isEqualTo(1);
+        assertThat(output.toString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"id\":5,\"bookTitle\":\"Dune\",\"userName\":\"jane@example.com\",\"rentDate\":\"2025-08-01\"," +
+                        "\"dueDate\":\"2025-08-15\",\"returnDate\":null,\"status\":\"ACTIVE\"}\n");
+    }
+
+    @Test
+    void exportBooks_shouldWriteNothingForEmptyTable() throws IOException {
+        when(bookRepository.streamAll()).thenReturn(Stream.empty());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertThat(exportService.exportBooks(output)).isZero();
+        assertThat(output.size()).isZero();
+    }
+}
@@ -1,31 +1,42 @@
 package com.example.bookify.service;
 
+import com.example.bookify.model.Role;
+import com.example.bookify.security.TokenClaims;
 import com.example.bookify.service.impl.JwtServiceImpl;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Encoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class JwtServiceTest {
 
     private JwtServiceImpl jwtService;
     private UserDetails userDetails;
+    private SimpleMeterRegistry meterRegistry;
+    private String secretKey;
 
     @BeforeEach
     void setUp() {
-        jwtService = new JwtServiceImpl();
-
-        String key = Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
-        ReflectionTestUtils.setField(jwtService, "secretKey", key);
+        secretKey = newSecret();
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService = new JwtServiceImpl(secretKey, "k1", new String[0], 100,
+                Duration.ofMinutes(15), Duration.ofDays(14), meterRegistry);
 
         userDetails = new User("testuser", "password", Collections.emptyList());
     }
@@ -59,6 +70,66 @@ public class JwtServiceTest {
         assertThat(valid).isFalse();
     }
 
+    @Test
+    void testParseToken_shouldReturnSubjectRolesAndExpiration() {
+        UserDetails admin = new User("admin", "password", List.of(new SimpleGrantedAuthority("ADMIN")));
+        String token = jwtService.generateToken(admin);
+
+        TokenClaims claims = jwtService.parseToken(token);
+
+        assertThat(claims.getSubject()).isEqualTo("admin");
+        assertThat(claims.getRoles()).containsExactly("ADMIN");
+        assertThat(claims.getExpiration()).isInTheFuture();
+    }
+
+    @Test
+    void testGenerateToken_shouldIssueShortLivedAccessTokenWithUniqueId() {
+        TokenClaims first = jwtService.parseToken(jwtService.generateToken(userDetails));
+        TokenClaims second = jwtService.parseToken(jwtService.generateToken(userDetails));
+
+        assertThat(first.isAccessToken()).isTrue();
+        assertThat(first.getId()).isNotBlank().isNotEqualTo(second.getId());
+        assertThat(first.getExpiration()).isBefore(new Date(System.currentTimeMillis() + Duration.ofMinutes(16).toMillis()));
+    }
+
+    @Test
+    void testGenerateRefreshToken_shouldNotBeAcceptedAsAccessToken() {
+        String refreshToken = jwtService.generateRefreshToken(userDetails);
+
+        TokenClaims claims = jwtService.parseToken(refreshToken);
+
+        assertThat(claims.isRefreshToken()).isTrue();
+        assertThat(claims.getExpiration()).isAfter(new Date(System.currentTimeMillis() + Duration.ofDays(13).toMillis()));
+        assertThat(jwtService.isTokenValid(refreshToken, userDetails)).isFalse();
+    }
+
+    @Test
+    void testParseToken_shouldCarryTokenVersionOfUserEntity() {
+        com.example.bookify.model.User user = com.example.bookify.model.User.builder()
+                .email("jane@example.com")
+                .role(Role.USER)
+                .tokenVersion(3)
+                .build();
+
+        TokenClaims claims = jwtService.parseToken(jwtService.generateToken(user));
+
+        assertThat(claims.getSubject()).isEqualTo("jane@example.com");
+        assertThat(claims.getTokenVersion()).isEqualTo(3);
+    }
+
+    @Test
+    void testParseToken_shouldServeRepeatedLookupsFromCache() {
+        String token = jwtService.generateToken(userDetails);
+
+        jwtService.extractUsername(token);
+        jwtService.isTokenValid(token, userDetails);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
     @Test
     void testExtractClaim_customClaim() {
         String token = jwtService.generateToken(userDetails);
@@ -75,9 +146,7 @@ public class JwtServiceTest {
                 .setSubject(userDetails.getUsername())
                 .setExpiration(new java.util.Date(System.currentTimeMillis() - 1000))
                 .signWith(Keys.hmacShaKeyFor(
-                        java.util.Base64.getDecoder().decode(
-                                (String) ReflectionTestUtils.getField(jwtService, "secretKey")
-                        )
+                        java.util.Base64.getDecoder().decode(secretKey)
                 ))
                 .compact();
 
@@ -85,4 +154,39 @@ public class JwtServiceTest {
 
         assertThat(valid).isFalse();
     }
+
+    @Test
+    void testGenerateToken_shouldSetKeyIdHeader() {
+        String token = jwtService.generateToken(userDetails);
+
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+
+        assertThat(header).contains("\"kid\":\"k1\"");
+    }
+
+    @Test
+    void testIsTokenValid_shouldAcceptTokenSignedWithRetiredKey() {
+        String token = jwtService.generateToken(userDetails);
+
+        JwtServiceImpl rotatedService = new JwtServiceImpl(newSecret(), "k2",
+                new String[]{"k1:" + secretKey}, 100, Duration.ofMinutes(15), Duration.ofDays(14), new SimpleMeterRegistry());
+
+        assertThat(rotatedService.isTokenValid(token, userDetails)).isTrue();
+    }
+
+    @Test
+    void testParseToken_shouldRejectTokenSignedWithUnknownKey() {
+        String token = jwtService.generateToken(userDetails);
+
+        JwtServiceImpl otherService = new JwtServiceImpl(newSecret(), "k2",
+                new String[0], 100, Duration.ofMinutes(15), Duration.ofDays(14), new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> otherService.parseToken(token))
+                .isInstanceOf(SignatureException.class)
+                .hasMessageContaining("unknown key id k1");
+    }
+
+    private static String newSecret() {
+        return Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+    }
 }
@@ -0,0 +1,96 @@
+package com.example.bookify.service;
+
+import com.example.bookify.exception.TooManyLoginAttemptsException;
+import com.example.bookify.service.impl.LoginRateLimiterImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+public class LoginRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private MeterRegistry meterRegistry;
+    private LoginRateLimiterImpl rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new LoginRateLimiterImpl(3, Duration.ofMinutes(3), 10, Duration.ofMinutes(1),
+                1000, meterRegistry, nanos::get);
+    }
+
+    @Test
+    void acquire_shouldRejectEmailOverCapacityWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire("jane@example.com", "10.0.0." + i);
+        }
+
+        TooManyLoginAttemptsException exception = catchThrowableOfType(TooManyLoginAttemptsException.class,
+                () -> rateLimiter.acquire(" Jane@Example.com ", "10.0.0.9"));
+
+        assertThat(exception.getRetryAfterSeconds()).isEqualTo(60);
+        assertThat(meterRegistry.get("auth.login.rejected").tag("limit", "email").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_shouldRefillTokensOverTime() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire("jane@example.com", "10.0.0.1");
+        }
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        rateLimiter.acquire("jane@example.com", "10.0.0.1");
+
+        assertThatThrownBy(() -> rateLimiter.acquire("jane@example.com", "10.0.0.1"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+    }
+
+    @Test
+    void acquire_shouldRejectClientIpOverCapacityAcrossEmails() {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.acquire("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> rateLimiter.acquire("other@example.com", "10.0.0.1"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+        assertThat(meterRegistry.get("auth.login.rejected").tag("limit", "ip").counter().count()).isEqualTo(1);
+
+        rateLimiter.acquire("other@example.com", "10.0.0.2");
+    }
+
+    @Test
+    void acquire_shouldGrantExactlyCapacityUnderConcurrency() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            String ip = "10.0.1." + i;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    rateLimiter.acquire("jane@example.com", ip);
+                    granted.incrementAndGet();
+                } catch (TooManyLoginAttemptsException | InterruptedException ignored) {
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(granted).hasValue(3);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.bookify.service;
+
+import com.example.bookify.exception.OutboxSinkUnavailableException;
+import com.example.bookify.model.OutboxEvent;
+import com.example.bookify.model.OutboxEventType;
+import com.example.bookify.repository.OutboxEventRepository;
+import com.example.bookify.service.impl.OutboxRelayServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayServiceTest {
+    @Mock private OutboxEventRepository outboxEventRepository;
+    @Mock private OutboxSink firstSink;
+    @Mock private OutboxSink secondSink;
+    @Mock private ObjectProvider<OutboxSink> sinkProvider;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelayServiceImpl outboxRelayService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(sinkProvider.orderedStream()).thenReturn(Stream.of(firstSink, secondSink));
+        outboxRelayService = new OutboxRelayServiceImpl(outboxEventRepository, sinkProvider, transactionManager,
+                2, 3, Duration.ofDays(7), meterRegistry);
+    }
+
+    @Test
+    void relay_shouldDeliverBatchesToEverySinkAndMarkThemPublished() {
+        List<OutboxEvent> first = events(1, 2);
+        List<OutboxEvent> second = events(3, 3);
+        when(outboxEventRepository.findUnpublishedForUpdate(any(Limit.class))).thenReturn(first)
+                .thenReturn(second);
+
+        int relayed = outboxRelayService.relay();
+
+        assertThat(relayed).isEqualTo(3);
+        verify(firstSink).deliver(first);
+        verify(secondSink).deliver(first);
+        verify(secondSink).deliver(second);
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any(Instant.class));
+        verify(outboxEventRepository).markPublished(eq(List.of(3L)), any(Instant.class));
+        assertThat(meterRegistry.get("outbox.delivered").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void relay_shouldLeaveBatchUnpublishedWithoutChargingAttemptsWhenSinkIsUnavailable() {
+        List<OutboxEvent> batch = events(1, 2);
+        when(outboxEventRepository.findUnpublishedForUpdate(any(Limit.class))).thenReturn(batch);
+        doThrow(new OutboxSinkUnavailableException("Broker unavailable")).when(secondSink).deliver(anyList());
+
+        int relayed = outboxRelayService.relay();
+
+        assertThat(relayed).isZero();
+        verify(outboxEventRepository, never()).markPublished(anyList(), any());
+        assertThat(batch).allSatisfy(event -> assertThat(event.getAttempts()).isZero());
+        assertThat(meterRegistry.get("outbox.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void relay_shouldDeliverEventsAfterFailingEventAndChargeOnlyThatEvent() {
+        List<OutboxEvent> batch = events(1, 2);
+        OutboxEvent poison = batch.get(0);
+        when(outboxEventRepository.findUnpublishedForUpdate(any(Limit.class))).thenReturn(batch);
+        doThrow(new IllegalArgumentException("Payload rejected")).when(secondSink)
+                .deliver(argThat(events -> events.contains(poison)));
+
+        int relayed = outboxRelayService.relay();
+
+        assertThat(relayed).isEqualTo(1);
+        verify(firstSink).deliver(List.of(batch.get(1)));
+        verify(secondSink).deliver(List.of(batch.get(1)));
+        verify(outboxEventRepository).markPublished(eq(List.of(2L)), any(Instant.class));
+        assertThat(poison.getAttempts()).isEqualTo(1);
+        assertThat(poison.getLastError()).contains("Payload rejected");
+        assertThat(poison.getParkedAt()).isNull();
+        assertThat(batch.get(1).getAttempts()).isZero();
+        assertThat(meterRegistry.get("outbox.failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.delivered").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void relay_shouldChargeLonePoisonEvent() {
+        List<OutboxEvent> batch = events(1, 1);
+        OutboxEvent poison = batch.get(0);
+        when(outboxEventRepository.findUnpublishedForUpdate(any(Limit.class))).thenReturn(batch);
+        doThrow(new IllegalArgumentException("Payload rejected")).when(secondSink).deliver(anyList());
+
+        int relayed = outboxRelayService.relay();
+
+        assertThat(relayed).isZero();
+        verify(outboxEventRepository, never()).markPublished(anyList(), any());
+        assertThat(poison.getAttempts()).isEqualTo(1);
+        assertThat(poison.getLastError()).contains("Payload rejected");
+    }
+
+    @Test
+    void relay_shouldParkEventAfterMaxAttempts() {
+        List<OutboxEvent> batch = events(1, 2);
+        OutboxEvent poison = batch.get(0);
+        poison.setAttempts(2);
+        when(outboxEventRepository.findUnpublishedForUpdate(any(Limit.class))).thenReturn(batch);
+        doThrow(new IllegalArgumentException("Payload rejected")).when(firstSink)
+                .deliver(argThat(events -> events.contains(poison)));
+
+        outboxRelayService.relay();
+
+        assertThat(poison.getAttempts()).isEqualTo(3);
+        assertThat(poison.getParkedAt()).isNotNull();
+        assertThat(meterRegistry.get("outbox.parked").counter().count()).isEqualTo(1);
+    }
+
+    private static List<OutboxEvent> events(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> OutboxEvent.builder()
+                        .id(id)
+                        .aggregateType("BOOK")
+                        .aggregateId(id)
+                        .eventType(OutboxEventType.BOOK_CREATED)
+                        .payload("{}")
+                        .createdAt(Instant.now())
+                        .build())
+                .toList();
+    }
+}
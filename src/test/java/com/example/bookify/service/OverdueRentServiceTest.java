@@ -0,0 +1,75 @@
+package com.example.bookify.service;
+
+import com.example.bookify.model.RentStatus;
+import com.example.bookify.repository.RentRepository;
+import com.example.bookify.service.impl.OverdueRentServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OverdueRentServiceTest {
+    @Mock private RentRepository rentRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OverdueRentServiceImpl overdueRentService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        overdueRentService = new OverdueRentServiceImpl(rentRepository, transactionManager, 2, meterRegistry);
+    }
+
+    @Test
+    void markOverdueRents_shouldUpdateInBatchesUntilShortBatch() {
+        LocalDate today = LocalDate.now();
+        when(rentRepository.findIdsByStatusAndDueDateBefore(RentStatus.ACTIVE, today, Limit.of(2)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+        when(rentRepository.updateStatus(List.of(1L, 2L), RentStatus.ACTIVE, RentStatus.OVERDUE)).thenReturn(2);
+        when(rentRepository.updateStatus(List.of(3L), RentStatus.ACTIVE, RentStatus.OVERDUE)).thenReturn(1);
+
+        int marked = overdueRentService.markOverdueRents();
+
+        assertThat(marked).isEqualTo(3);
+        verify(rentRepository, times(2)).findIdsByStatusAndDueDateBefore(RentStatus.ACTIVE, today, Limit.of(2));
+        verify(transactionManager, times(2)).commit(any());
+        assertThat(meterRegistry.get("rents.overdue.marked").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("rents.overdue.sweep").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void markOverdueRents_shouldCountOnlyRowsStillActive() {
+        when(rentRepository.findIdsByStatusAndDueDateBefore(eq(RentStatus.ACTIVE), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of());
+        when(rentRepository.updateStatus(List.of(1L, 2L), RentStatus.ACTIVE, RentStatus.OVERDUE)).thenReturn(1);
+
+        assertThat(overdueRentService.markOverdueRents()).isEqualTo(1);
+    }
+
+    @Test
+    void markOverdueRents_shouldDoNothingWithoutOverdueRents() {
+        when(rentRepository.findIdsByStatusAndDueDateBefore(eq(RentStatus.ACTIVE), any(), eq(Limit.of(2))))
+                .thenReturn(List.of());
+
+        assertThat(overdueRentService.markOverdueRents()).isZero();
+
+        verify(rentRepository, never()).updateStatus(any(), any(), any());
+        verifyNoInteractions(transactionManager);
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.bookify.service;
 
+import com.example.bookify.dto.CursorPageResponse;
 import com.example.bookify.dto.RentRequest;
 import com.example.bookify.dto.RentResponse;
+import com.example.bookify.dto.mapper.CursorMapper;
 import com.example.bookify.dto.mapper.RentMapper;
+import com.example.bookify.event.BookAvailabilityChangedEvent;
 import com.example.bookify.exception.BookAlreadyReturnedException;
 import com.example.bookify.exception.BookUnavailableException;
 import com.example.bookify.exception.ResourceNotFoundException;
@@ -10,15 +13,23 @@ import com.example.bookify.model.*;
 import com.example.bookify.repository.BookRepository;
 import com.example.bookify.repository.RentRepository;
 import com.example.bookify.service.impl.RentServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
+import java.time.Period;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +44,13 @@ public class RentServiceTest {
     @Mock private BookRepository bookRepository;
     @Mock private UserService userService;
     @Mock private RentMapper rentMapper;
+    @Mock private BookCacheService bookCacheService;
+    @Mock private BookAvailabilityService bookAvailabilityService;
+    @Mock private ReservationService reservationService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private OutboxService outboxService;
+    @Spy private CursorMapper cursorMapper;
+    @Spy private MeterRegistry meterRegistry = new SimpleMeterRegistry();
     @InjectMocks private RentServiceImpl rentService;
 
     // Test data
@@ -78,10 +96,15 @@ public class RentServiceTest {
                 .rentDate(rent.getRentDate())
                 .status(RentStatus.ACTIVE)
                 .build();
+
+        ReflectionTestUtils.setField(rentService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(rentService, "maxPageSize", 3);
+        ReflectionTestUtils.setField(rentService, "loanPeriod", Period.ofDays(14));
     }
 
     @Test
     void create_shouldSaveAndReturnResponse() {
+        when(bookRepository.claimIfAvailable(rentRequest.getBookId())).thenReturn(1);
         when(bookRepository.findById(rentRequest.getBookId())).thenReturn(Optional.of(book));
         when(userService.getCurrentUser()).thenReturn(user);
         when(rentMapper.toEntity(user, book)).thenReturn(rent);
@@ -89,16 +112,22 @@ public class RentServiceTest {
 
         RentResponse result = rentService.create(rentRequest);
 
+        verify(bookRepository).claimIfAvailable(rentRequest.getBookId());
         verify(rentMapper).toEntity(user, book);
         verify(rentMapper).toDto(rent);
         verify(rentRepository).save(rent);
-        verify(bookRepository).save(book);
+        verify(bookRepository, never()).save(any());
+        verify(bookCacheService).evict(rentRequest.getBookId());
+        verify(bookAvailabilityService).update(rentRequest.getBookId(), false);
+        verify(eventPublisher).publishEvent(new BookAvailabilityChangedEvent(rentRequest.getBookId(), false));
+        assertThat(rent.getDueDate()).isEqualTo(rent.getRentDate().plusDays(14));
         assertThat(result).isEqualTo(rentResponse);
     }
 
     @Test
     void create_shouldThrowIfBookNotFound() {
-        when(bookRepository.findById(rentRequest.getBookId())).thenReturn(Optional.empty());
+        when(bookRepository.claimIfAvailable(rentRequest.getBookId())).thenReturn(0);
+        when(bookRepository.existsById(rentRequest.getBookId())).thenReturn(false);
 
         assertThatThrownBy(() -> rentService.create(rentRequest))
                 .isExactlyInstanceOf(ResourceNotFoundException.class)
@@ -109,14 +138,30 @@ public class RentServiceTest {
 
     @Test
     void create_shouldThrowIfBookNotAvailable() {
-        book.setAvailable(false);
-        when(bookRepository.findById(rentRequest.getBookId())).thenReturn(Optional.of(book));
+        when(bookRepository.claimIfAvailable(rentRequest.getBookId())).thenReturn(0);
+        when(bookRepository.existsById(rentRequest.getBookId())).thenReturn(true);
 
         assertThatThrownBy(() -> rentService.create(rentRequest))
                 .isExactlyInstanceOf(BookUnavailableException.class)
                 .hasMessageContaining("Book with id " + book.getId() + " is unavailable at the moment");
 
         verify(rentRepository, never()).save(any());
+        verify(userService, never()).getCurrentUser();
+    }
+
+    @Test
+    void create_shouldRentBookThatThisNodeStillSeesAsUnavailable() {
+        // Returned through another node: the local bitmap lags, the conditional UPDATE decides
+        lenient().when(bookAvailabilityService.isAvailable(book.getId())).thenReturn(false);
+        when(bookRepository.claimIfAvailable(rentRequest.getBookId())).thenReturn(1);
+        when(bookRepository.findById(rentRequest.getBookId())).thenReturn(Optional.of(book));
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(rentMapper.toEntity(user, book)).thenReturn(rent);
+        when(rentMapper.toDto(rent)).thenReturn(rentResponse);
+
+        assertThat(rentService.create(rentRequest)).isEqualTo(rentResponse);
+
+        verify(rentRepository).save(rent);
     }
 
     @Test
@@ -141,31 +186,54 @@ public class RentServiceTest {
 
     @Test
     void getAll_shouldReturnListOfResponses() {
-        List<Rent> rents = List.of(rent);
-
-        when(rentRepository.findAll()).thenReturn(rents);
-        when(rentMapper.toDto(rent)).thenReturn(rentResponse);
+        when(rentRepository.findAllResponses()).thenReturn(List.of(rentResponse));
 
         List<RentResponse> result = rentService.getAll();
 
         assertThat(result).hasSize(1).containsExactly(rentResponse);
 
-        verify(rentMapper).toDto(rent);
+        verify(rentRepository, never()).findAll();
+        verifyNoInteractions(rentMapper);
     }
 
     @Test
     void getAllForUser_shouldReturnListOfResponses() {
-        List<Rent> rents = List.of(rent);
-
         when(userService.getCurrentUser()).thenReturn(user);
-        when(rentRepository.findAllByUser(user)).thenReturn(rents);
-        when(rentMapper.toDto(rent)).thenReturn(rentResponse);
+        when(rentRepository.findAllResponsesByUserId(user.getId())).thenReturn(List.of(rentResponse));
 
         List<RentResponse> result = rentService.getAllForUser();
 
         assertThat(result).hasSize(1).containsExactly(rentResponse);
 
-        verify(rentMapper).toDto(rent);
+        verifyNoInteractions(rentMapper);
+    }
+
+    @Test
+    void getHistoryForUser_shouldReturnNewestPageWithCursor() {
+        RentResponse older = RentResponse.builder().id(4L).build();
+        RentResponse newer = RentResponse.builder().id(5L).build();
+        RentResponse oldest = RentResponse.builder().id(3L).build();
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(rentRepository.findHistoryPage(user.getId(), Long.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of(newer, older, oldest));
+
+        CursorPageResponse<RentResponse> result = rentService.getHistoryForUser(null, null);
+
+        assertThat(result.getContent()).containsExactly(newer, older);
+        assertThat(cursorMapper.decode(result.getNextCursor())).isEqualTo(4L);
+        verifyNoInteractions(rentMapper);
+    }
+
+    @Test
+    void getHistoryForUser_shouldContinueBeforeCursorAndClampSize() {
+        RentResponse last = RentResponse.builder().id(2L).build();
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(rentRepository.findHistoryPage(user.getId(), 4L, Limit.of(4))).thenReturn(List.of(last));
+
+        CursorPageResponse<RentResponse> result = rentService.getHistoryForUser(cursorMapper.encode(4L), 100);
+
+        assertThat(result.getContent()).containsExactly(last);
+        assertThat(result.getNextCursor()).isNull();
     }
 
     @Test
@@ -247,17 +315,45 @@ public class RentServiceTest {
     void return_shouldReturnBookAndReturnResponse() {
         when(rentRepository.findById(rent.getId())).thenReturn(Optional.of(rent));
         when(userService.getCurrentUser()).thenReturn(user);
+        when(bookRepository.findByIdForUpdate(book.getId())).thenReturn(Optional.of(book));
+        when(rentRepository.findStatusById(rent.getId())).thenReturn(RentStatus.ACTIVE);
         when(rentMapper.toDto(rent)).thenReturn(rentResponse);
 
         RentResponse result = rentService.returnBook(rent.getId());
 
+        verify(reservationService).handOff(book);
         verify(bookRepository).save(book);
-        verify(rentRepository).save(rent);
+        verify(bookCacheService).evict(book.getId());
+        verify(bookAvailabilityService).update(book.getId(), true);
+        verify(eventPublisher).publishEvent(new BookAvailabilityChangedEvent(book.getId(), true));
+        verify(rentRepository).saveAndFlush(rent);
         verify(rentMapper).toDto(rent);
 
+        assertThat(book.isAvailable()).isTrue();
         assertThat(result).isEqualTo(rentResponse);
     }
 
+    @Test
+    void return_shouldHandBookToNextReservationInsteadOfReleasingIt() {
+        book.setAvailable(false);
+        when(rentRepository.findById(rent.getId())).thenReturn(Optional.of(rent));
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(bookRepository.findByIdForUpdate(book.getId())).thenReturn(Optional.of(book));
+        when(rentRepository.findStatusById(rent.getId())).thenReturn(RentStatus.ACTIVE);
+        when(reservationService.handOff(book)).thenReturn(true);
+
+        rentService.returnBook(rent.getId());
+
+        InOrder inOrder = inOrder(rentRepository, reservationService);
+        inOrder.verify(rentRepository).saveAndFlush(rent);
+        inOrder.verify(reservationService).handOff(book);
+        assertThat(book.isAvailable()).isFalse();
+        assertThat(rent.getStatus()).isEqualTo(RentStatus.RETURNED);
+        verify(bookRepository, never()).save(any());
+        verify(bookAvailabilityService, never()).update(anyLong(), anyBoolean());
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void return_shouldThrowIfRentNotFound() {
         when(rentRepository.findById(rent.getId())).thenReturn(Optional.empty());
@@ -266,7 +362,7 @@ public class RentServiceTest {
                 .isExactlyInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Rent with id " + rent.getId() + " not found");
 
-        verify(rentRepository, never()).save(any());
+        verify(rentRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -280,19 +376,23 @@ public class RentServiceTest {
                 .isExactlyInstanceOf(AccessDeniedException.class)
                 .hasMessageContaining("User with id " + anotherUser.getId() + " is not allowed to return this book");
 
-        verify(rentRepository, never()).save(any());
+        verify(rentRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void return_shouldThrowIfBookIsReturned() {
-        rent.setStatus(RentStatus.RETURNED);
+        // The rent was loaded as ACTIVE before a concurrent return of it committed
         when(rentRepository.findById(rent.getId())).thenReturn(Optional.of(rent));
         when(userService.getCurrentUser()).thenReturn(user);
+        when(bookRepository.findByIdForUpdate(book.getId())).thenReturn(Optional.of(book));
+        when(rentRepository.findStatusById(rent.getId())).thenReturn(RentStatus.RETURNED);
 
         assertThatThrownBy(() -> rentService.returnBook(rent.getId()))
                 .isExactlyInstanceOf(BookAlreadyReturnedException.class)
                 .hasMessageContaining("Book with id " + rent.getBook().getId() + " is already returned");
 
-        verify(rentRepository, never()).save(any());
+        verify(rentRepository, never()).saveAndFlush(any());
+        verify(bookRepository, never()).save(any());
+        verifyNoInteractions(reservationService);
     }
 }
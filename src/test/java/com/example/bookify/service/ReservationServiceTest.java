@@ -0,0 +1,212 @@
+package com.example.bookify.service;
+
+import com.example.bookify.dto.ReservationRequest;
+import com.example.bookify.dto.ReservationResponse;
+import com.example.bookify.dto.mapper.RentMapper;
+import com.example.bookify.dto.mapper.ReservationMapper;
+import com.example.bookify.event.BookAvailabilityChangedEvent;
+import com.example.bookify.exception.ResourceNotFoundException;
+import com.example.bookify.model.*;
+import com.example.bookify.repository.BookRepository;
+import com.example.bookify.repository.RentRepository;
+import com.example.bookify.repository.ReservationRepository;
+import com.example.bookify.service.impl.ReservationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationServiceTest {
+    @Mock private ReservationRepository reservationRepository;
+    @Mock private BookRepository bookRepository;
+    @Mock private RentRepository rentRepository;
+    @Mock private UserService userService;
+    @Mock private BookCacheService bookCacheService;
+    @Mock private BookAvailabilityService bookAvailabilityService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private OutboxService outboxService;
+
+    private ReservationServiceImpl reservationService;
+
+    // Test data
+    private Book book;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        reservationService = new ReservationServiceImpl(reservationRepository, new ReservationMapper(), bookRepository,
+                rentRepository, new RentMapper(), userService, bookCacheService, bookAvailabilityService,
+                eventPublisher, outboxService, Period.ofDays(14), Duration.ofSeconds(30));
+
+        book = Book.builder()
+                .id(1L)
+                .title("Java Basics")
+                .publicationYear(2023)
+                .category(Category.NONFICTION)
+                .available(false)
+                .authorName("John Doe")
+                .build();
+
+        user = User.builder()
+                .id(1L)
+                .firstName("Jane")
+                .lastName("Reed")
+                .email("jane@example.com")
+                .build();
+    }
+
+    @Test
+    void reserve_shouldQueueUpForUnavailableBook() {
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(bookRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(book));
+        when(reservationRepository.findByBookIdAndUserIdAndStatus(1L, 1L, ReservationStatus.WAITING))
+                .thenReturn(Optional.empty());
+        when(reservationRepository.countAhead(eq(1L), eq(ReservationStatus.WAITING), any(), any())).thenReturn(2L);
+
+        ReservationResponse result = reservationService.reserve(new ReservationRequest(1L));
+
+        verify(reservationRepository).save(any(Reservation.class));
+        verify(rentRepository, never()).save(any());
+        assertThat(result.getStatus()).isEqualTo(ReservationStatus.WAITING);
+        assertThat(result.getPosition()).isEqualTo(3);
+    }
+
+    @Test
+    void reserve_shouldRentAvailableBookRightAway() {
+        book.setAvailable(true);
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(bookRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(book));
+        when(reservationRepository.findByBookIdAndUserIdAndStatus(1L, 1L, ReservationStatus.WAITING))
+                .thenReturn(Optional.empty());
+
+        ReservationResponse result = reservationService.reserve(new ReservationRequest(1L));
+
+        ArgumentCaptor<Rent> rent = ArgumentCaptor.forClass(Rent.class);
+        verify(rentRepository).save(rent.capture());
+        assertThat(rent.getValue().getUser()).isEqualTo(user);
+        assertThat(rent.getValue().getDueDate()).isEqualTo(LocalDate.now().plusDays(14));
+        assertThat(book.isAvailable()).isFalse();
+        verify(bookCacheService).evict(1L);
+        verify(bookAvailabilityService).update(1L, false);
+        verify(eventPublisher).publishEvent(new BookAvailabilityChangedEvent(1L, false));
+        assertThat(result.getStatus()).isEqualTo(ReservationStatus.FULFILLED);
+        assertThat(result.getPosition()).isNull();
+    }
+
+    @Test
+    void reserve_shouldReturnExistingWaitingReservation() {
+        Reservation existing = waitingReservation(5L, user);
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(bookRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(book));
+        when(reservationRepository.findByBookIdAndUserIdAndStatus(1L, 1L, ReservationStatus.WAITING))
+                .thenReturn(Optional.of(existing));
+
+        ReservationResponse result = reservationService.reserve(new ReservationRequest(1L));
+
+        verify(reservationRepository, never()).save(any());
+        assertThat(result.getId()).isEqualTo(5L);
+        assertThat(result.getPosition()).isEqualTo(1);
+    }
+
+    @Test
+    void reserve_shouldThrowIfBookNotFound() {
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(bookRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> reservationService.reserve(new ReservationRequest(1L)))
+                .isExactlyInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Book with id 1 not found");
+    }
+
+    @Test
+    void handOff_shouldReturnFalseWhenNobodyIsWaiting() {
+        when(reservationRepository.findQueue(eq(1L), eq(ReservationStatus.WAITING), any(Limit.class))).thenReturn(List.of());
+
+        assertThat(reservationService.handOff(book)).isFalse();
+        verify(rentRepository, never()).save(any());
+    }
+
+    @Test
+    void handOff_shouldRentBookToOldestReservationAndWakeUpItsLongPoll() {
+        Reservation reservation = waitingReservation(5L, user);
+        when(reservationRepository.findById(5L)).thenReturn(Optional.of(reservation));
+        when(userService.getCurrentUser()).thenReturn(user);
+        DeferredResult<ReservationResponse> poll = reservationService.awaitFulfillment(5L);
+        assertThat(poll.hasResult()).isFalse();
+        when(reservationRepository.findQueue(eq(1L), eq(ReservationStatus.WAITING), any(Limit.class)))
+                .thenReturn(List.of(reservation));
+
+        assertThat(reservationService.handOff(book)).isTrue();
+
+        verify(rentRepository).save(any(Rent.class));
+        assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.FULFILLED);
+        assertThat(poll.getResult()).isInstanceOfSatisfying(ReservationResponse.class,
+                response -> assertThat(response.getStatus()).isEqualTo(ReservationStatus.FULFILLED));
+    }
+
+    @Test
+    void cancel_shouldThrowIfReservationNotBelongToUser() {
+        User anotherUser = User.builder().id(2L).build();
+        when(reservationRepository.findById(5L)).thenReturn(Optional.of(waitingReservation(5L, anotherUser)));
+        when(userService.getCurrentUser()).thenReturn(user);
+
+        assertThatThrownBy(() -> reservationService.cancel(5L))
+                .isExactlyInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void cancel_shouldLeaveQueue() {
+        Reservation reservation = waitingReservation(5L, user);
+        when(reservationRepository.findById(5L)).thenReturn(Optional.of(reservation));
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(bookRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(book));
+        when(reservationRepository.findStatusById(5L)).thenReturn(ReservationStatus.WAITING);
+
+        reservationService.cancel(5L);
+
+        verify(bookRepository).findByIdForUpdate(1L);
+        assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.CANCELLED);
+    }
+
+    @Test
+    void cancel_shouldNotOverwriteReservationFulfilledWhileWaitingForLock() {
+        Reservation reservation = waitingReservation(5L, user);
+        when(reservationRepository.findById(5L)).thenReturn(Optional.of(reservation));
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(bookRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(book));
+        when(reservationRepository.findStatusById(5L)).thenReturn(ReservationStatus.FULFILLED);
+
+        reservationService.cancel(5L);
+
+        assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.WAITING);
+    }
+
+    private Reservation waitingReservation(Long id, User owner) {
+        return Reservation.builder()
+                .id(id)
+                .book(book)
+                .user(owner)
+                .status(ReservationStatus.WAITING)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.bookify.service;
+
+import com.example.bookify.model.RevokedToken;
+import com.example.bookify.model.RevokedTokenType;
+import com.example.bookify.repository.RevokedTokenRepository;
+import com.example.bookify.service.impl.TokenRevocationServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationServiceImpl tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenRevocationService = new TokenRevocationServiceImpl(revokedTokenRepository, 1000, meterRegistry);
+    }
+
+    @Test
+    void revokeAccessToken_shouldMakeTokenRevoked() {
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(5));
+
+        tokenRevocationService.revokeAccessToken("jti-1", expiresAt);
+
+        verify(revokedTokenRepository).insertIfAbsent("jti-1", expiresAt, "ACCESS");
+        assertThat(tokenRevocationService.isRevoked("jti-1")).isTrue();
+        assertThat(tokenRevocationService.isRevoked("jti-2")).isFalse();
+        assertThat(tokenRevocationService.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void revokeRefreshToken_shouldReportFirstRevocationWithoutMirroringIt() {
+        Instant expiresAt = Instant.now().plus(Duration.ofDays(14));
+        when(revokedTokenRepository.insertIfAbsent("jti-1", expiresAt, "REFRESH")).thenReturn(1, 0);
+
+        assertThat(tokenRevocationService.revokeRefreshToken("jti-1", expiresAt)).isTrue();
+        assertThat(tokenRevocationService.revokeRefreshToken("jti-1", expiresAt)).isFalse();
+
+        assertThat(tokenRevocationService.isRevoked("jti-1")).isFalse();
+        assertThat(meterRegistry.get("jwt.revoked.tokens").gauge().value()).isZero();
+    }
+
+    @Test
+    void isRevoked_shouldNotReportFalsePositivesForUnrevokedTokens() {
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(5));
+        IntStream.range(0, 1000).forEach(i -> tokenRevocationService.revokeAccessToken(UUID.randomUUID().toString(), expiresAt));
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> tokenRevocationService.isRevoked(UUID.randomUUID().toString()))
+                .count();
+
+        assertThat(falsePositives).isZero();
+    }
+
+    @Test
+    void sync_shouldLoadRevocationsOfOtherNodesAndDropExpiredOnes() {
+        Instant now = Instant.now();
+        tokenRevocationService.revokeAccessToken("expired", now.minusSeconds(1));
+        when(revokedTokenRepository.findAccessTokensRevokedAfter(any(), any())).thenReturn(List.of(
+                new RevokedToken("remote", now.plus(Duration.ofMinutes(5)), RevokedTokenType.ACCESS, now)));
+
+        tokenRevocationService.sync();
+
+        assertThat(tokenRevocationService.isRevoked("remote")).isTrue();
+        assertThat(tokenRevocationService.isRevoked("expired")).isFalse();
+        assertThat(meterRegistry.get("jwt.revoked.tokens").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void sync_shouldOnlyFetchRevocationsSinceTheLastOneSeen() {
+        Instant revokedAt = Instant.now();
+        when(revokedTokenRepository.findAccessTokensRevokedAfter(any(), any())).thenReturn(List.of(
+                new RevokedToken("remote", revokedAt.plus(Duration.ofMinutes(5)), RevokedTokenType.ACCESS, revokedAt)));
+
+        tokenRevocationService.sync();
+        tokenRevocationService.sync();
+
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(revokedTokenRepository, times(2)).findAccessTokensRevokedAfter(since.capture(), any());
+        assertThat(since.getAllValues().get(0)).isBefore(Instant.EPOCH.plusSeconds(1));
+        assertThat(since.getAllValues().get(1)).isAfter(revokedAt.minus(Duration.ofMinutes(2)))
+                .isBefore(revokedAt);
+        assertThat(tokenRevocationService.isRevoked("remote")).isTrue();
+    }
+
+    @Test
+    void purgeExpired_shouldDeleteExpiredRows() {
+        tokenRevocationService.purgeExpired();
+
+        verify(revokedTokenRepository).deleteExpired(any());
+    }
+}
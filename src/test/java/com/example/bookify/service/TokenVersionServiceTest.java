@@ -0,0 +1,65 @@
+package com.example.bookify.service;
+
+import com.example.bookify.repository.UserRepository;
+import com.example.bookify.service.impl.TokenVersionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenVersionServiceTest {
+    @Mock private UserRepository userRepository;
+
+    private TokenVersionServiceImpl tokenVersionService;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionService = new TokenVersionServiceImpl(userRepository, Duration.ofMinutes(1), 100,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void isCurrent_shouldLoadVersionOnceAndServeFromCache() {
+        when(userRepository.findTokenVersionByEmail("jane@example.com")).thenReturn(Optional.of(2));
+
+        assertThat(tokenVersionService.isCurrent("jane@example.com", 2)).isTrue();
+        assertThat(tokenVersionService.isCurrent("jane@example.com", 2)).isTrue();
+
+        verify(userRepository, times(1)).findTokenVersionByEmail("jane@example.com");
+    }
+
+    @Test
+    void isCurrent_shouldRejectOutdatedVersion() {
+        when(userRepository.findTokenVersionByEmail("jane@example.com")).thenReturn(Optional.of(2));
+
+        assertThat(tokenVersionService.isCurrent("jane@example.com", 1)).isFalse();
+    }
+
+    @Test
+    void isCurrent_shouldRejectUnknownUser() {
+        when(userRepository.findTokenVersionByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        assertThat(tokenVersionService.isCurrent("ghost@example.com", 0)).isFalse();
+    }
+
+    @Test
+    void evict_shouldReloadVersionOnNextCheck() {
+        when(userRepository.findTokenVersionByEmail("jane@example.com"))
+                .thenReturn(Optional.of(0))
+                .thenReturn(Optional.of(1));
+
+        assertThat(tokenVersionService.isCurrent("jane@example.com", 0)).isTrue();
+        tokenVersionService.evict("jane@example.com");
+
+        assertThat(tokenVersionService.isCurrent("jane@example.com", 0)).isFalse();
+    }
+}
@@ -5,6 +5,7 @@ import com.example.bookify.model.Role;
 import com.example.bookify.model.User;
 import com.example.bookify.repository.UserRepository;
 import com.example.bookify.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +29,7 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class UserServiceTest {
     @Mock private UserRepository userRepository;
+    @Mock private TokenVersionService tokenVersionService;
     @InjectMocks private UserServiceImpl userService;
 
     // Test data
@@ -44,6 +46,11 @@ public class UserServiceTest {
                 .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void create_shouldSaveAndReturnEntity() {
         when(userRepository.save(user)).thenReturn(user);
@@ -119,9 +126,11 @@ public class UserServiceTest {
         assertThat(user.getEmail()).isEqualTo("new@example.com");
         assertThat(user.getPassword()).isEqualTo("newPass");
         assertThat(user.getRole()).isEqualTo(Role.ADMIN);
+        assertThat(user.getTokenVersion()).isEqualTo(1);
 
         verify(userRepository).findById(user.getId());
         verify(userRepository).save(user);
+        verify(tokenVersionService).evict("jane@example.com");
     }
 
     @Test
@@ -144,6 +153,7 @@ public class UserServiceTest {
 
         verify(userRepository).findById(user.getId());
         verify(userRepository).delete(user);
+        verify(tokenVersionService).evict(user.getEmail());
     }
 
     @Test
@@ -238,4 +248,14 @@ public class UserServiceTest {
                 .isInstanceOf(UsernameNotFoundException.class)
                 .hasMessageContaining("User with username " + user.getEmail() + " not found");
     }
+
+    @Test
+    void updatePassword_shouldStoreNewHashWithoutRevokingTokens() {
+        UserDetails result = userService.updatePassword(user, "$2a$12$newhash");
+
+        assertThat(result.getPassword()).isEqualTo("$2a$12$newhash");
+        verify(userRepository).updatePassword(user.getEmail(), "$2a$12$newhash");
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(tokenVersionService);
+    }
 }